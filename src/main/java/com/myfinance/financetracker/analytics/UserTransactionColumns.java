@@ -0,0 +1,410 @@
+package com.myfinance.financetracker.analytics;
+
+import com.myfinance.financetracker.dto.AnalyticsSummary;
+import com.myfinance.financetracker.dto.BudgetTotal;
+import com.myfinance.financetracker.dto.PeriodTotal;
+import com.myfinance.financetracker.model.enums.AnalyticsPeriod;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Транзакции одного пользователя в колоночном виде: параллельные примитивные массивы,
+ * отсортированные по (дата, id). Диапазон дат и строка по id находятся двоичным поиском, агрегаты
+ * считаются плотными циклами по массивам, большие диапазоны - параллельно в ForkJoinPool.
+ * Начальная загрузка идёт в том же порядке и только дописывает строки в конец ({@link #append}).
+ *
+ * <p>Запросы выполняются под read-lock, изменения - под write-lock. Изменения идемпотентны
+ * (upsert и удаление по id), поэтому повторное применение того же изменения безопасно.
+ */
+public final class UserTransactionColumns {
+
+    // Индекс 0 в словаре бюджетов - транзакции без бюджета
+    private static final int NO_BUDGET = 0;
+    // С какого размера диапазона сканировать параллельно и каким куском
+    private static final int PARALLEL_THRESHOLD = 1 << 17;
+    private static final int CHUNK_SIZE = 1 << 15;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int[] epochDays;
+    private long[] amounts;
+    private int[] budgetIndexes;
+    private long[] ids;
+
+    private long[] budgetIds = new long[8];
+    private int budgetCount = 1;
+    private final Map<Long, Integer> budgetIndexById = new HashMap<>();
+
+    public UserTransactionColumns() {
+        this(64);
+    }
+
+    public UserTransactionColumns(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        epochDays = new int[capacity];
+        amounts = new long[capacity];
+        budgetIndexes = new int[capacity];
+        ids = new long[capacity];
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Добавляет или заменяет транзакцию с данным id и датой.
+     */
+    public void upsert(long id, LocalDate date, long amount, Long budgetId) {
+        int day = (int) date.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            upsert(id, day, amount, budgetIndexFor(budgetId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Добавляет транзакцию при загрузке строк в порядке (дата, id): строка, идущая после последней,
+     * дописывается в конец без поиска и сдвига массивов. Строка не по порядку (или повтор id)
+     * применяется как {@link #upsert}.
+     */
+    public void append(long id, LocalDate date, long amount, Long budgetId) {
+        int day = (int) date.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            int budgetIndex = budgetIndexFor(budgetId);
+            if (size == 0 || compare(size - 1, day, id) < 0) {
+                insertAt(size, day, id, amount, budgetIndex);
+            } else {
+                upsert(id, day, amount, budgetIndex);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет транзакцию; дата - та, с которой транзакция хранилась. Отсутствующая транзакция игнорируется.
+     */
+    public void remove(long id, LocalDate date) {
+        int day = (int) date.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            int position = find(day, id);
+            if (position < 0) {
+                return;
+            }
+            int tail = size - position - 1;
+            System.arraycopy(epochDays, position + 1, epochDays, position, tail);
+            System.arraycopy(amounts, position + 1, amounts, position, tail);
+            System.arraycopy(budgetIndexes, position + 1, budgetIndexes, position, tail);
+            System.arraycopy(ids, position + 1, ids, position, tail);
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean containsBudget(Long budgetId) {
+        lock.readLock().lock();
+        try {
+            return budgetIndexById.containsKey(budgetId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Количество и сумма транзакций за [from, to] (границы включительно, null - без ограничения),
+     * по одному бюджету или по всем, если budgetId == null.
+     */
+    public AnalyticsSummary summarize(LocalDate from, LocalDate to, Long budgetId) {
+        lock.readLock().lock();
+        try {
+            int lo = fromIndex(from);
+            int hi = toIndex(to);
+            if (lo >= hi) {
+                return new AnalyticsSummary(0, 0);
+            }
+            if (budgetId == null) {
+                return new AnalyticsSummary(hi - lo, sum(lo, hi));
+            }
+            Integer budgetIndex = budgetIndexById.get(budgetId);
+            if (budgetIndex == null) {
+                return new AnalyticsSummary(0, 0);
+            }
+            long[] totals = totalsForBudget(lo, hi, budgetIndex);
+            return new AnalyticsSummary(totals[0], totals[1]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Итоги по бюджетам за [from, to]; бюджеты без транзакций в диапазоне не возвращаются.
+     */
+    public List<BudgetTotal> totalsByBudget(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            int lo = fromIndex(from);
+            int hi = toIndex(to);
+            List<BudgetTotal> result = new ArrayList<>();
+            if (lo >= hi) {
+                return result;
+            }
+            long[] totals = totalsByBudget(lo, hi);
+            for (int index = 0; index < budgetCount; index++) {
+                long count = totals[2 * index];
+                if (count > 0) {
+                    Long budgetId = index == NO_BUDGET ? null : budgetIds[index];
+                    result.add(new BudgetTotal(budgetId, count, totals[2 * index + 1]));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Итоги по периодам за [from, to], включая пустые периоды. Если граница не указана,
+     * диапазон ограничивается первой/последней транзакцией.
+     */
+    public List<PeriodTotal> totalsByPeriod(LocalDate from, LocalDate to, AnalyticsPeriod period) {
+        lock.readLock().lock();
+        try {
+            int lo = fromIndex(from);
+            int hi = toIndex(to);
+            List<PeriodTotal> result = new ArrayList<>();
+            if (lo >= hi) {
+                return result;
+            }
+            LocalDate first = from != null ? from : LocalDate.ofEpochDay(epochDays[lo]);
+            LocalDate last = to != null ? to : LocalDate.ofEpochDay(epochDays[hi - 1]);
+            // Данные отсортированы по дате: каждый период - непрерывный отрезок массивов
+            int start = lo;
+            for (LocalDate periodStart = period.startOf(first); !periodStart.isAfter(last);
+                 periodStart = period.next(periodStart)) {
+                LocalDate nextStart = period.next(periodStart);
+                int end = Math.min(lowerBound((int) nextStart.toEpochDay()), hi);
+                result.add(new PeriodTotal(periodStart, end - start, sum(start, end)));
+                start = end;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- сканирование ---
+
+    private long sum(int lo, int hi) {
+        if (hi - lo < PARALLEL_THRESHOLD) {
+            return sumSequential(lo, hi);
+        }
+        return IntStream.range(0, chunkCount(lo, hi))
+            .parallel()
+            .mapToLong(chunk -> sumSequential(chunkStart(lo, chunk), chunkEnd(lo, hi, chunk)))
+            .sum();
+    }
+
+    private long sumSequential(int lo, int hi) {
+        long total = 0;
+        for (int i = lo; i < hi; i++) {
+            total += amounts[i];
+        }
+        return total;
+    }
+
+    // Результат - (количество, сумма) по одному бюджету
+    private long[] totalsForBudget(int lo, int hi, int budgetIndex) {
+        if (hi - lo < PARALLEL_THRESHOLD) {
+            return totalsForBudgetSequential(lo, hi, budgetIndex);
+        }
+        return IntStream.range(0, chunkCount(lo, hi))
+            .parallel()
+            .mapToObj(chunk -> totalsForBudgetSequential(chunkStart(lo, chunk), chunkEnd(lo, hi, chunk), budgetIndex))
+            .reduce(UserTransactionColumns::addInPlace)
+            .orElseGet(() -> new long[2]);
+    }
+
+    private long[] totalsForBudgetSequential(int lo, int hi, int budgetIndex) {
+        long count = 0;
+        long total = 0;
+        for (int i = lo; i < hi; i++) {
+            // Без ветвления: маска из одних единиц для строк нужного бюджета, иначе ноль
+            long match = budgetIndexes[i] == budgetIndex ? 1 : 0;
+            count += match;
+            total += amounts[i] & -match;
+        }
+        return new long[] {count, total};
+    }
+
+    // Результат - пары (количество, сумма) по индексу бюджета
+    private long[] totalsByBudget(int lo, int hi) {
+        if (hi - lo < PARALLEL_THRESHOLD) {
+            return totalsByBudgetSequential(lo, hi);
+        }
+        return IntStream.range(0, chunkCount(lo, hi))
+            .parallel()
+            .mapToObj(chunk -> totalsByBudgetSequential(chunkStart(lo, chunk), chunkEnd(lo, hi, chunk)))
+            .reduce(UserTransactionColumns::addInPlace)
+            .orElseGet(() -> new long[2 * budgetCount]);
+    }
+
+    private long[] totalsByBudgetSequential(int lo, int hi) {
+        long[] totals = new long[2 * budgetCount];
+        for (int i = lo; i < hi; i++) {
+            int slot = 2 * budgetIndexes[i];
+            totals[slot]++;
+            totals[slot + 1] += amounts[i];
+        }
+        return totals;
+    }
+
+    private static long[] addInPlace(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+        return target;
+    }
+
+    private static int chunkCount(int lo, int hi) {
+        return (hi - lo + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    private static int chunkStart(int lo, int chunk) {
+        return lo + chunk * CHUNK_SIZE;
+    }
+
+    private static int chunkEnd(int lo, int hi, int chunk) {
+        return Math.min(hi, chunkStart(lo, chunk) + CHUNK_SIZE);
+    }
+
+    // --- поиск ---
+
+    private int fromIndex(LocalDate from) {
+        return from == null ? 0 : lowerBound((int) from.toEpochDay());
+    }
+
+    private int toIndex(LocalDate to) {
+        return to == null ? size : upperBound((int) to.toEpochDay());
+    }
+
+    // Первая позиция с датой >= day
+    private int lowerBound(int day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Первая позиция с датой > day
+    private int upperBound(int day) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] <= day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Первая позиция, не меньшая (day, id)
+    private int lowerBound(int day, long id) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(mid, day, id) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Сравнение строки в позиции с ключом (day, id)
+    private int compare(int position, int day, long id) {
+        int byDay = Integer.compare(epochDays[position], day);
+        return byDay != 0 ? byDay : Long.compare(ids[position], id);
+    }
+
+    private int find(int day, long id) {
+        int position = lowerBound(day, id);
+        return position < size && compare(position, day, id) == 0 ? position : -1;
+    }
+
+    // --- изменение ---
+
+    private void upsert(long id, int day, long amount, int budgetIndex) {
+        int position = lowerBound(day, id);
+        if (position < size && compare(position, day, id) == 0) {
+            amounts[position] = amount;
+            budgetIndexes[position] = budgetIndex;
+            return;
+        }
+        insertAt(position, day, id, amount, budgetIndex);
+    }
+
+    private void insertAt(int position, int day, long id, long amount, int budgetIndex) {
+        if (size == ids.length) {
+            int capacity = ids.length + (ids.length >> 1) + 1;
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            budgetIndexes = Arrays.copyOf(budgetIndexes, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        int tail = size - position;
+        System.arraycopy(epochDays, position, epochDays, position + 1, tail);
+        System.arraycopy(amounts, position, amounts, position + 1, tail);
+        System.arraycopy(budgetIndexes, position, budgetIndexes, position + 1, tail);
+        System.arraycopy(ids, position, ids, position + 1, tail);
+        epochDays[position] = day;
+        amounts[position] = amount;
+        budgetIndexes[position] = budgetIndex;
+        ids[position] = id;
+        size++;
+    }
+
+    private int budgetIndexFor(Long budgetId) {
+        if (budgetId == null) {
+            return NO_BUDGET;
+        }
+        Integer index = budgetIndexById.get(budgetId);
+        if (index != null) {
+            return index;
+        }
+        if (budgetCount == budgetIds.length) {
+            budgetIds = Arrays.copyOf(budgetIds, budgetCount * 2);
+        }
+        budgetIds[budgetCount] = budgetId;
+        budgetIndexById.put(budgetId, budgetCount);
+        return budgetCount++;
+    }
+}
@@ -0,0 +1,90 @@
+package com.myfinance.financetracker.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Задержка каждого метода контроллеров в таймере finance.controller.latency с тегами
+ * controller, method и outcome. Таймер считает p50/p90/p99 и max по скользящему окну
+ * на гистограмме с логарифмическими корзинами внутри Micrometer.
+ *
+ * <p>Prometheus не отдаёт перцентили и корзины одного таймера вместе, поэтому по умолчанию
+ * публикуются перцентили экземпляра, а с finance.metrics.latency-histogram=true - корзины,
+ * из которых Prometheus считает перцентили по всем экземплярам (histogram_quantile).
+ * Для потоковых ответов (экспорт) учитывается только время до начала записи тела.
+ */
+@Aspect
+@Component
+public class ControllerLatencyAspect {
+
+    static final String METRIC = "finance.controller.latency";
+
+    // Корзины гистограммы только в этих пределах, чтобы не плодить лишние ряды
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+    // Окно делится на столько частей; устаревшая часть сбрасывается целиком
+    private static final int WINDOW_BUFFERS = 3;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration window;
+    private final boolean histogram;
+    // Поиск таймера в реестре по тегам дороже самого измерения, поэтому таймеры кэшируются
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ControllerLatencyAspect(MeterRegistry meterRegistry,
+                                   @Value("${finance.metrics.latency-window:PT1M}") Duration window,
+                                   @Value("${finance.metrics.latency-histogram:false}") boolean histogram) {
+        this.meterRegistry = meterRegistry;
+        this.window = window;
+        this.histogram = histogram;
+    }
+
+    @Around("execution(* com.myfinance.financetracker.controller..*.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            MethodTimers methodTimers = timers.computeIfAbsent(method, this::register);
+            (success ? methodTimers.success() : methodTimers.error())
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodTimers register(Method method) {
+        return new MethodTimers(timer(method, "SUCCESS"), timer(method, "ERROR"));
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder(METRIC)
+            .description("Время выполнения метода контроллера")
+            .tag("controller", method.getDeclaringClass().getSimpleName())
+            .tag("method", method.getName())
+            .tag("outcome", outcome)
+            .publishPercentiles(histogram ? new double[0] : new double[] {0.5, 0.9, 0.99})
+            .publishPercentileHistogram(histogram)
+            .minimumExpectedValue(MIN_EXPECTED)
+            .maximumExpectedValue(MAX_EXPECTED)
+            .distributionStatisticExpiry(window)
+            .distributionStatisticBufferLength(WINDOW_BUFFERS)
+            .register(meterRegistry);
+    }
+
+    private record MethodTimers(Timer success, Timer error) {
+    }
+}
@@ -7,8 +7,11 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+
 @Aspect
 @Component
 public class LoggingAspect {
@@ -27,8 +30,19 @@ public class LoggingAspect {
     @AfterReturning(pointcut = "execution(* com.myfinance.financetracker.controller.*.*(..))", returning = "result")
     public void logAfterReturning(JoinPoint joinPoint, Object result) {
         if (logger.isInfoEnabled()) { // Проверяем, включен ли уровень INFO
-            logger.info("Method {} executed successfully. Result: {}", joinPoint.getSignature().toShortString(), result);
+            logger.info("Method {} executed successfully. Result: {}", joinPoint.getSignature().toShortString(), describe(result));
+        }
+    }
+
+    // Списки (например, ответ массовой загрузки на 10 тысяч строк) логируются размером, а не содержимым
+    private static Object describe(Object result) {
+        if (result instanceof ResponseEntity<?> response && response.getBody() instanceof Collection<?> body) {
+            return response.getStatusCode() + " with " + body.size() + " elements";
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size() + " elements";
         }
+        return result;
     }
 
     // Логирование ошибок
@@ -1,10 +1,11 @@
 package com.myfinance.financetracker.aspect;
 
-import com.myfinance.financetracker.service.impl.VisitCounterServiceImpl;
+import com.myfinance.financetracker.service.VisitCounterService;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 import jakarta.servlet.http.HttpServletRequest;
 
 @Aspect
@@ -12,14 +13,18 @@ import jakarta.servlet.http.HttpServletRequest;
 public class VisitCounterAspect {
 
     @Autowired
-    private VisitCounterServiceImpl visitCounterService;
+    private VisitCounterService visitCounterService;
 
     @Autowired
     private HttpServletRequest request;
 
     @Before("execution(* com.myfinance.financetracker.controller..*.*(..))")
     public void countVisit() {
-        String url = request.getRequestURI();
-        visitCounterService.incrementVisitCount(url);
+        String path = request.getRequestURI();
+        // Счётчики и строки visits - по шаблону маршрута (/api/transactions/{id}), а не по
+        // каждому id; сами пути учитываются в скетче фиксированного размера
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        visitCounterService.incrementVisitCount(route instanceof String template ? template : path);
+        visitCounterService.recordRawPath(path);
     }
 }
\ No newline at end of file
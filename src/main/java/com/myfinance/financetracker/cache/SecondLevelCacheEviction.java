@@ -0,0 +1,37 @@
+package com.myfinance.financetracker.cache;
+
+import com.myfinance.financetracker.event.RemoteChangeEvent;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Category;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сбрасывает записи кэша второго уровня Hibernate, изменённые другими экземплярами приложения.
+ * Свои изменения Hibernate обновляет в кэше сам.
+ */
+@Component
+public class SecondLevelCacheEviction {
+
+    private static final String BUDGET_CATEGORIES = Budget.class.getName() + ".categories";
+
+    private final org.hibernate.Cache cache;
+
+    public SecondLevelCacheEviction(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        switch (event.type()) {
+            case BUDGET -> cache.evictCollectionData(BUDGET_CATEGORIES, event.entityId());
+            case CATEGORY -> cache.evictEntityData(Category.class, event.entityId());
+            case BUDGET_SPENT, USER_TRANSACTIONS, BUDGET_TRANSACTIONS -> {
+                // Транзакции, пользователи и сами бюджеты (с их spent) во втором уровне не кэшируются,
+                // а категории бюджета от его транзакций не зависят
+            }
+        }
+    }
+}
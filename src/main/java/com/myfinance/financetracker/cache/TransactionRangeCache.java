@@ -0,0 +1,129 @@
+package com.myfinance.financetracker.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.dto.TransactionSummary;
+import com.myfinance.financetracker.event.RemoteChangeEvent;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
+import com.myfinance.financetracker.event.TransactionsPurgedEvent;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Кэш результатов запроса транзакций пользователя за диапазон дат, ключ - (userId, start, end).
+ * Хранятся неизменяемые записи, а не сущности: общий экземпляр нельзя испортить изменением
+ * или повторным сохранением, и ленивые прокси не уходят в другие потоки.
+ *
+ * <p>Инвалидация через поколения: у каждого пользователя есть отметка последнего изменения,
+ * у кэша - отметка последнего сброса целиком; обе берутся из одной возрастающей
+ * последовательности. Запись годна, пока её отметка равна большей из двух текущих, поэтому
+ * изменение пользователя делает все его записи устаревшими за O(1), без обхода кэша.
+ * Устаревшие записи удаляются при обращении или вытесняются по размеру.
+ *
+ * <p>Отметка читается до запроса в БД, а сдвигается после коммита: результат, прочитанный
+ * до коммита изменения, получит старую отметку и не будет выдан после него.
+ */
+@Component
+public class TransactionRangeCache {
+
+    private record Key(Long userId, LocalDate start, LocalDate end) {
+    }
+
+    private record Entry(long stamp, List<TransactionSummary> rows) {
+    }
+
+    private final AtomicLong sequence = new AtomicLong();
+    // Отметки не удаляются: иначе пользователь вернулся бы к нулевой отметке старых записей
+    private final Map<Long, Long> userStamps = new ConcurrentHashMap<>();
+    private volatile long globalStamp;
+    // Вес записи - число строк результата
+    private final Cache<Key, Entry> entries;
+
+    public TransactionRangeCache(@Value("${finance.range-cache.max-rows:200000}") long maxRows) {
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(maxRows)
+            .weigher((Key key, Entry entry) -> Math.max(1, entry.rows().size()))
+            .build();
+    }
+
+    /**
+     * Результат из кэша, если он не устарел, иначе из loader с сохранением в кэш.
+     * Возвращаемый список неизменяемый и общий для всех вызывающих.
+     */
+    public List<TransactionSummary> get(Long userId, LocalDate start, LocalDate end,
+                                        Supplier<List<TransactionSummary>> loader) {
+        Key key = new Key(userId, start, end);
+        long stamp = currentStamp(userId);
+        Entry cached = entries.getIfPresent(key);
+        if (cached != null) {
+            if (cached.stamp() == stamp) {
+                return cached.rows();
+            }
+            entries.asMap().remove(key, cached);
+        }
+        Entry loaded = new Entry(stamp, List.copyOf(loader.get()));
+        // Медленная загрузка со старой отметкой не затирает более свежую запись
+        entries.asMap().merge(key, loaded, (current, candidate) -> current.stamp() >= candidate.stamp() ? current : candidate);
+        return loaded.rows();
+    }
+
+    public long size() {
+        // Вытеснение выполняется асинхронно; перед подсчётом оно доводится до конца
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Stream.concat(event.removed().stream(), event.saved().stream())
+            .map(TransactionSnapshot::userId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .forEach(this::bumpUser);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsPurged(TransactionsPurgedEvent event) {
+        if (event.userId() != null) {
+            bumpUser(event.userId());
+        } else {
+            bumpAll();
+        }
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        switch (event.type()) {
+            case USER_TRANSACTIONS -> bumpUser(event.entityId());
+            case BUDGET_TRANSACTIONS -> bumpAll();
+            default -> {
+                // Бюджеты и категории в результатах не меняются: это отдельные ленивые связи
+            }
+        }
+    }
+
+    private long currentStamp(Long userId) {
+        return Math.max(userStamps.getOrDefault(userId, 0L), globalStamp);
+    }
+
+    private void bumpUser(Long userId) {
+        userStamps.put(userId, sequence.incrementAndGet());
+    }
+
+    // Чьи транзакции были в удалённом бюджете, неизвестно - устаревает весь кэш
+    private void bumpAll() {
+        globalStamp = sequence.incrementAndGet();
+        entries.invalidateAll();
+    }
+}
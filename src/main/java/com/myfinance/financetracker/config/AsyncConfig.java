@@ -1,7 +1,10 @@
 package com.myfinance.financetracker.config;
 
-import org.springframework.context.annotation.Bean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -11,8 +14,26 @@ import java.util.concurrent.Executor;
 @Configuration
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
+
+    private final Environment environment;
+    private final int virtualConcurrencyLimit;
+
+    public AsyncConfig(Environment environment,
+                       @Value("${finance.async.virtual-concurrency-limit:64}") int virtualConcurrencyLimit) {
+        this.environment = environment;
+        this.virtualConcurrencyLimit = virtualConcurrencyLimit;
+    }
+
     @Override
     public Executor getAsyncExecutor() {
+        // spring.threads.virtual.enabled=true на Java 21+ (профиль virtual-threads):
+        // поток на задачу, число одновременных задач ограничено вместо размера пула
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("LogAsync-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            return executor;
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(4);
         executor.setMaxPoolSize(8);
@@ -21,4 +42,4 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+}
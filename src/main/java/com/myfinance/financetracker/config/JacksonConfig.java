@@ -0,0 +1,18 @@
+package com.myfinance.financetracker.config;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // open-in-view выключен, поэтому сериализация сущности не должна подгружать ленивые связи:
+    // незагруженная коллекция пишется как null, незагруженная ссылка - как объект с одним id
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        Hibernate6Module module = new Hibernate6Module();
+        module.enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+        return module;
+    }
+}
@@ -0,0 +1,15 @@
+package com.myfinance.financetracker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи (@Scheduled). В тестах выключены: задачи вызываются явно, а запросы
+ * фонового потока не смешиваются с подсчётом SQL-запросов.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "finance.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,54 @@
+package com.myfinance.financetracker.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Category;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Регионы кэша второго уровня Hibernate создаются здесь, с ограничением размера и сроком жизни;
+ * регион без описания здесь - ошибка при старте (missing_cache_strategy=fail).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Имена регионов Hibernate: класс сущности и класс.поле для коллекции
+    public static final List<String> REGIONS = List.of(
+        Category.class.getName(),
+        Budget.class.getName() + ".categories");
+
+    @Bean
+    public CacheManager hibernateCacheManager(@Value("${finance.l2-cache.max-entries:10000}") long maxEntries,
+                                              @Value("${finance.l2-cache.ttl:PT10M}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager();
+        for (String region : REGIONS) {
+            // Менеджер общий для classloader-а: в тестах его уже могли настроить другие контексты
+            if (cacheManager.getCache(region) == null) {
+                CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                configuration.setMaximumSize(OptionalLong.of(maxEntries));
+                configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+                cacheManager.createCache(region, configuration);
+            }
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
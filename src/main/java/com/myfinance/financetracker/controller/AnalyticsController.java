@@ -0,0 +1,78 @@
+package com.myfinance.financetracker.controller;
+
+import com.myfinance.financetracker.dto.AnalyticsSummary;
+import com.myfinance.financetracker.dto.BudgetTotal;
+import com.myfinance.financetracker.dto.PeriodTotal;
+import com.myfinance.financetracker.model.enums.AnalyticsPeriod;
+import com.myfinance.financetracker.service.TransactionAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/analytics/users/{userId}")
+@Tag(name = "Analytics Controller", description = "API для аналитики по транзакциям пользователя")
+public class AnalyticsController {
+
+    private final TransactionAnalyticsService analyticsService;
+
+    public AnalyticsController(TransactionAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Сумма и среднее",
+        description = "Количество, сумма и средняя сумма транзакций за период, по всем бюджетам или по одному")
+    @ApiResponse(responseCode = "200", description = "Сводка успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры")
+    public ResponseEntity<AnalyticsSummary> getSummary(
+        @Parameter(description = "ID пользователя", required = true) @PathVariable Long userId,
+        @Parameter(description = "Начальная дата (yyyy-MM-dd)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Конечная дата (yyyy-MM-dd)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(description = "ID бюджета (необязательно)") @RequestParam(required = false) Long budgetId) {
+        return ResponseEntity.ok(analyticsService.getSummary(userId, from, to, budgetId));
+    }
+
+    @GetMapping("/by-budget")
+    @Operation(summary = "Итоги по бюджетам", description = "Количество и сумма транзакций за период по каждому бюджету")
+    @ApiResponse(responseCode = "200", description = "Итоги успешно получены")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры")
+    public ResponseEntity<List<BudgetTotal>> getTotalsByBudget(
+        @Parameter(description = "ID пользователя", required = true) @PathVariable Long userId,
+        @Parameter(description = "Начальная дата (yyyy-MM-dd)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Конечная дата (yyyy-MM-dd)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getTotalsByBudget(userId, from, to));
+    }
+
+    @GetMapping("/by-period")
+    @Operation(summary = "Итоги по периодам",
+        description = "Количество и сумма транзакций по дням, неделям, месяцам или годам, включая пустые периоды")
+    @ApiResponse(responseCode = "200", description = "Итоги успешно получены")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры")
+    public ResponseEntity<List<PeriodTotal>> getTotalsByPeriod(
+        @Parameter(description = "ID пользователя", required = true) @PathVariable Long userId,
+        @Parameter(description = "Начальная дата (yyyy-MM-dd)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Конечная дата (yyyy-MM-dd)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(description = "Период: DAY, WEEK, MONTH, YEAR")
+        @RequestParam(defaultValue = "MONTH") AnalyticsPeriod period) {
+        return ResponseEntity.ok(analyticsService.getTotalsByPeriod(userId, from, to, period));
+    }
+}
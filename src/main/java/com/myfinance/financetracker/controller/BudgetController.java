@@ -1,15 +1,22 @@
 package com.myfinance.financetracker.controller;
 
+import com.myfinance.financetracker.dto.BudgetSummary;
+import com.myfinance.financetracker.dto.CursorPage;
 import com.myfinance.financetracker.exception.ResourceNotFoundException;
+import com.myfinance.financetracker.exception.ValidationException;
 import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.money.MinorUnits;
 import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid; // Убедись, что импорт правильный
+import java.math.BigDecimal;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @CrossOrigin(origins = "http://localhost:3000") // Разрешаем CORS для фронтенда
 @RestController
@@ -28,29 +36,58 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Budget Controller", description = "API для управления бюджетами")
 public class BudgetController {
 
+    private static final String INCLUDE_CATEGORIES = "categories";
+
     private final BudgetService budgetService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public BudgetController(BudgetService budgetService) {
+    public BudgetController(BudgetService budgetService, ResourceVersionService resourceVersionService) {
         this.budgetService = budgetService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Получить бюджет по ID", description = "Возвращает бюджет по указанному ID")
+    @Operation(summary = "Получить бюджет по ID",
+        description = "Возвращает бюджет по указанному ID; с include=categories - вместе с категориями")
     @ApiResponse(responseCode = "200", description = "Бюджет найден")
+    @ApiResponse(responseCode = "304", description = "Бюджет не изменился с версии из If-None-Match")
+    @ApiResponse(responseCode = "400", description = "Неизвестное значение include")
     @ApiResponse(responseCode = "404", description = "Бюджет не найден")
-    public ResponseEntity<Budget> getBudgetById(@PathVariable Long id) {
-        Budget budget = budgetService.getBudgetById(id)
+    public ResponseEntity<Budget> getBudgetById(
+        @PathVariable Long id,
+        @Parameter(description = "Связи, которые нужно вернуть в ответе: categories") @RequestParam(required = false) List<String> include,
+        WebRequest request) {
+        boolean withCategories = includesCategories(include);
+        // Тег читается до данных: он может быть старее ответа, но не новее
+        String etag = resourceVersionService.getBudgetTag(id, withCategories);
+        if (etag != null && request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        Budget budget = budgetService.getBudgetById(id, withCategories)
             .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id " + id));
-        return ResponseEntity.ok(budget);
+        return ResponseEntity.ok().eTag(etag).body(budget);
     }
 
     @GetMapping
-    @Operation(summary = "Получить все бюджеты", description = "Возвращает список всех бюджетов")
-    @ApiResponse(responseCode = "200", description = "Список бюджетов успешно получен")
-    public ResponseEntity<List<Budget>> getAllBudgets() {
-        List<Budget> budgets = budgetService.getAllBudgets();
-        return ResponseEntity.ok(budgets);
+    @Operation(summary = "Получить все бюджеты",
+        description = "Возвращает страницу бюджетов по возрастанию ID; с include=categories - вместе с категориями."
+            + " Для следующей страницы передайте nextCursor из ответа")
+    @ApiResponse(responseCode = "200", description = "Страница бюджетов успешно получена")
+    @ApiResponse(responseCode = "304", description = "Бюджеты не изменились с версии из If-None-Match")
+    @ApiResponse(responseCode = "400", description = "Некорректный курсор или значение include")
+    public ResponseEntity<CursorPage<BudgetSummary>> getAllBudgets(
+        @Parameter(description = "Курсор следующей страницы") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Размер страницы (не больше 500)") @RequestParam(defaultValue = "50") int limit,
+        @Parameter(description = "Связи, которые нужно вернуть в ответе: categories") @RequestParam(required = false) List<String> include,
+        WebRequest request) {
+        boolean withCategories = includesCategories(include);
+        String etag = resourceVersionService.getBudgetListTag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        CursorPage<BudgetSummary> budgets = budgetService.getAllBudgets(cursor, limit, withCategories);
+        return ResponseEntity.ok().eTag(etag).body(budgets);
     }
 
     @PostMapping("/with-categories")
@@ -110,13 +147,33 @@ public class BudgetController {
         return ResponseEntity.noContent().build(); // Стандартный ответ для DELETE
     }
 
-    // Оставляем как есть
+    // Параметр limit здесь - лимит бюджета (так было в API и раньше), размер страницы передаётся в size
     @GetMapping("/by-limit")
-    @Operation(summary = "Получить бюджеты по лимиту", description = "Возвращает бюджеты с лимитом меньше или равным указанному")
-    @ApiResponse(responseCode = "200", description = "Список бюджетов успешно получен")
-    public ResponseEntity<List<Budget>> getBudgetsByLimitLessThanOrEqual(
-        @Parameter(description = "Лимит бюджета", required = true) @RequestParam Double limit) {
-        List<Budget> budgets = budgetService.getBudgetsByLimitLessThanOrEqual(limit);
+    @Operation(summary = "Получить бюджеты по лимиту",
+        description = "Возвращает страницу бюджетов с лимитом меньше или равным указанному, по возрастанию ID;"
+            + " с include=categories - вместе с категориями. Для следующей страницы передайте nextCursor из ответа")
+    @ApiResponse(responseCode = "200", description = "Страница бюджетов успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный лимит, курсор или значение include")
+    public ResponseEntity<CursorPage<BudgetSummary>> getBudgetsByLimitLessThanOrEqual(
+        @Parameter(description = "Лимит бюджета", required = true) @RequestParam BigDecimal limit,
+        @Parameter(description = "Курсор следующей страницы") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Размер страницы (не больше 500)") @RequestParam(defaultValue = "50") int size,
+        @Parameter(description = "Связи, которые нужно вернуть в ответе: categories") @RequestParam(required = false) List<String> include) {
+        CursorPage<BudgetSummary> budgets = budgetService.getBudgetsByLimitLessThanOrEqual(
+            MinorUnits.fromRequestParam(limit, "limit"), cursor, size, includesCategories(include));
         return ResponseEntity.ok(budgets);
     }
+
+    // Параметр include=categories выбирает план загрузки; неизвестные значения отклоняются
+    private static boolean includesCategories(List<String> include) {
+        if (include == null) {
+            return false;
+        }
+        for (String value : include) {
+            if (!INCLUDE_CATEGORIES.equalsIgnoreCase(value.trim())) {
+                throw new ValidationException("Unsupported include value: " + value);
+            }
+        }
+        return !include.isEmpty();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.myfinance.financetracker.controller;
+
+import com.myfinance.financetracker.dto.CacheRegionStats;
+import com.myfinance.financetracker.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache Controller", description = "API для наблюдения за кэшами")
+public class CacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    public CacheController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Статистика кэша второго уровня",
+        description = "Возвращает число попаданий, промахов и записей по регионам кэша Hibernate с момента запуска")
+    @ApiResponse(responseCode = "200", description = "Статистика успешно получена")
+    public ResponseEntity<List<CacheRegionStats>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getSecondLevelCacheStats());
+    }
+}
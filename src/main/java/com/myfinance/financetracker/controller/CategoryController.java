@@ -1,14 +1,18 @@
 package com.myfinance.financetracker.controller;
 
+import com.myfinance.financetracker.dto.CategorySummary;
+import com.myfinance.financetracker.dto.CursorPage;
 import com.myfinance.financetracker.exception.ResourceNotFoundException;
 import com.myfinance.financetracker.model.Category;
 import com.myfinance.financetracker.service.CategoryService;
+import com.myfinance.financetracker.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,7 +22,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST-контроллер для управления категориями.
@@ -30,28 +36,45 @@ import org.springframework.web.bind.annotation.RestController;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ResourceVersionService resourceVersionService;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ResourceVersionService resourceVersionService) {
         this.categoryService = categoryService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Получить категорию по ID", description = "Возвращает категорию по указанному ID")
     @ApiResponse(responseCode = "200", description = "Категория найдена")
+    @ApiResponse(responseCode = "304", description = "Категория не изменилась с версии из If-None-Match")
     @ApiResponse(responseCode = "404", description = "Категория не найдена")
-    public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<Category> getCategoryById(@PathVariable Long id, WebRequest request) {
+        String etag = resourceVersionService.getCategoryTag(id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         Category category = categoryService.getCategoryById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Category not found with id " + id));
-        return ResponseEntity.ok(category);
+        return ResponseEntity.ok().eTag(etag).body(category);
     }
 
     @GetMapping
-    @Operation(summary = "Получить все категории", description = "Возвращает список всех категорий")
-    @ApiResponse(responseCode = "200", description = "Список категорий успешно получен")
-    public ResponseEntity<List<Category>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    @Operation(summary = "Получить все категории",
+        description = "Возвращает страницу категорий по возрастанию ID. Для следующей страницы передайте nextCursor из ответа")
+    @ApiResponse(responseCode = "200", description = "Страница категорий успешно получена")
+    @ApiResponse(responseCode = "304", description = "Категории не изменились с версии из If-None-Match")
+    @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    public ResponseEntity<CursorPage<CategorySummary>> getAllCategories(
+        @Parameter(description = "Курсор следующей страницы") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Размер страницы (не больше 500)") @RequestParam(defaultValue = "50") int limit,
+        WebRequest request) {
+        String etag = resourceVersionService.getCategoryListTag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        CursorPage<CategorySummary> categories = categoryService.getAllCategories(cursor, limit);
+        return ResponseEntity.ok().eTag(etag).body(categories);
     }
 
     @PostMapping
@@ -0,0 +1,50 @@
+package com.myfinance.financetracker.controller;
+
+import com.myfinance.financetracker.dto.MonthlySpendingSummary;
+import com.myfinance.financetracker.service.MonthlySpendingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.YearMonth;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/spending")
+@Tag(name = "Monthly Spending Controller", description = "API для помесячной статистики трат")
+public class MonthlySpendingController {
+
+    // Период по умолчанию - последние 12 месяцев, включая текущий
+    private static final int DEFAULT_MONTHS = 12;
+
+    private final MonthlySpendingService monthlySpendingService;
+
+    public MonthlySpendingController(MonthlySpendingService monthlySpendingService) {
+        this.monthlySpendingService = monthlySpendingService;
+    }
+
+    @GetMapping("/monthly")
+    @Operation(summary = "Помесячные траты пользователя",
+        description = "Возвращает сумму и количество транзакций по месяцам из предрассчитанных сводок")
+    @ApiResponse(responseCode = "200", description = "Сводка успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный период")
+    public ResponseEntity<List<MonthlySpendingSummary>> getMonthlySpending(
+        @Parameter(description = "ID пользователя", required = true) @RequestParam Long userId,
+        @Parameter(description = "ID бюджета (необязательно)") @RequestParam(required = false) Long budgetId,
+        @Parameter(description = "Первый месяц (yyyy-MM)")
+        @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+        @Parameter(description = "Последний месяц (yyyy-MM)")
+        @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth toMonth = to != null ? to : YearMonth.now();
+        YearMonth fromMonth = from != null ? from : toMonth.minusMonths(DEFAULT_MONTHS - 1);
+        return ResponseEntity.ok(monthlySpendingService.getMonthlySpending(userId, budgetId, fromMonth, toMonth));
+    }
+}
@@ -1,15 +1,24 @@
 package com.myfinance.financetracker.controller;
 
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.TransactionSummary;
 import com.myfinance.financetracker.exception.ResourceNotFoundException;
 import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.ExportFormat;
+import com.myfinance.financetracker.model.enums.SearchMode;
+import com.myfinance.financetracker.service.TransactionSearchService;
 import com.myfinance.financetracker.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -29,10 +39,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionSearchService transactionSearchService;
 
     @Autowired
-    public TransactionController(final TransactionService transactionService) {
+    public TransactionController(final TransactionService transactionService,
+                                 final TransactionSearchService transactionSearchService) {
         this.transactionService = transactionService;
+        this.transactionSearchService = transactionSearchService;
     }
 
     @GetMapping("/{id}")
@@ -46,14 +59,51 @@ public class TransactionController {
     }
 
     @GetMapping
-    @Operation(summary = "Получить транзакции по диапазону дат", description = "Возвращает список транзакций в указанном диапазоне дат")
-    @ApiResponse(responseCode = "200", description = "Список транзакций успешно получен")
-    @ApiResponse(responseCode = "400", description = "Некорректные параметры дат")
-    public ResponseEntity<List<Transaction>> getTransactionsByDateRange(
-        @Parameter(description = "Начальная дата (формат yyyy-MM-dd)", required = false) @RequestParam(required = false) final String startDate,
-        @Parameter(description = "Конечная дата (формат yyyy-MM-dd)", required = false) @RequestParam(required = false) final String endDate) {
-        List<Transaction> transactions = transactionService.getTransactionsByDateRange(startDate, endDate);
-        return ResponseEntity.ok(transactions);
+    @Operation(summary = "Получить транзакции по диапазону дат",
+        description = "Возвращает страницу транзакций в указанном диапазоне дат, упорядоченных по дате и ID."
+            + " Для следующей страницы передайте nextCursor из ответа")
+    @ApiResponse(responseCode = "200", description = "Страница транзакций успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры дат или курсор")
+    public ResponseEntity<CursorPage<Transaction>> getTransactionsByDateRange(
+        @Parameter(description = "Начальная дата (формат yyyy-MM-dd)", required = false) @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate startDate,
+        @Parameter(description = "Конечная дата (формат yyyy-MM-dd)", required = false) @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate endDate,
+        @Parameter(description = "Курсор следующей страницы", required = false) @RequestParam(required = false) final String cursor,
+        @Parameter(description = "Размер страницы (не больше 500)", required = false) @RequestParam(defaultValue = "50") final int limit) {
+        CursorPage<Transaction> page = transactionService.getTransactionsByDateRange(startDate, endDate, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Поиск транзакций по описанию",
+        description = "Ищет транзакции пользователя, в описании которых встречается строка (без учёта регистра)."
+            + " Результаты упорядочены от новых к старым")
+    @ApiResponse(responseCode = "200", description = "Результаты поиска успешно получены")
+    @ApiResponse(responseCode = "400", description = "Пустой или слишком длинный запрос")
+    @ApiResponse(responseCode = "503", description = "Поисковый индекс ещё строится")
+    public ResponseEntity<List<Transaction>> searchTransactions(
+        @Parameter(description = "ID пользователя", required = true) @RequestParam final Long userId,
+        @Parameter(description = "Строка поиска", required = true) @RequestParam final String q,
+        @Parameter(description = "Режим: SUBSTRING - вхождение в любом месте, PREFIX - начало слова", required = false) @RequestParam(defaultValue = "SUBSTRING") final SearchMode mode,
+        @Parameter(description = "Максимум результатов (не больше 500)", required = false) @RequestParam(defaultValue = "50") final int limit) {
+        return ResponseEntity.ok(transactionSearchService.searchTransactions(userId, q, mode, limit));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Выгрузить транзакции",
+        description = "Потоково выгружает транзакции в диапазоне дат в формате NDJSON или CSV."
+            + " Строки отдаются по мере чтения из БД, объём выгрузки не ограничен")
+    @ApiResponse(responseCode = "200", description = "Выгрузка начата")
+    @ApiResponse(responseCode = "400", description = "Некорректные параметры дат или формат")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+        @Parameter(description = "Начальная дата (формат yyyy-MM-dd)", required = false) @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate startDate,
+        @Parameter(description = "Конечная дата (формат yyyy-MM-dd)", required = false) @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate endDate,
+        @Parameter(description = "Формат выгрузки: NDJSON или CSV", required = false) @RequestParam(defaultValue = "NDJSON") final ExportFormat format) {
+        StreamingResponseBody body = out -> transactionService.exportTransactions(startDate, endDate, format, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=transactions." + format.getExtension())
+            .body(body);
     }
 
     @PostMapping
@@ -67,15 +117,15 @@ public class TransactionController {
 
     @PostMapping("/bulk")
     @Operation(summary = "Массовое создание/обновление транзакций",
-        description = "Создает или обновляет список транзакций за одну операцию")
+        description = "Создает или обновляет список транзакций в одной транзакции БД с пакетной вставкой. "
+            + "В ответе бюджет каждой транзакции представлен только id")
     @ApiResponse(responseCode = "200", description = "Транзакции успешно обработаны")
     @ApiResponse(responseCode = "400", description = "Некорректные данные в запросе")
-    public ResponseEntity<List<Transaction>> processTransactionsBulk(
+    public ResponseEntity<List<TransactionSummary>> processTransactionsBulk(
         @RequestBody List<@Valid Transaction> transactions) {
-        List<Transaction> processedTransactions = transactions.stream()
-            .map(transactionService::createOrUpdateTransaction)
-            .toList();
-
+        // Без полей бюджета в каждой строке: ответ на 10 тысяч строк в разы меньше и быстрее сериализуется
+        List<TransactionSummary> processedTransactions = transactionService.createTransactionsBulk(transactions)
+            .stream().map(TransactionSummary::of).toList();
         return ResponseEntity.ok(processedTransactions);
     }
 
@@ -107,11 +157,11 @@ public class TransactionController {
     @ApiResponse(responseCode = "200", description = "Список транзакций успешно получен")
     @ApiResponse(responseCode = "400", description = "Некорректные параметры")
     @ApiResponse(responseCode = "404", description = "Пользователь не найден")
-    public ResponseEntity<List<Transaction>> getTransactionsByUserAndDateRange(
+    public ResponseEntity<List<TransactionSummary>> getTransactionsByUserAndDateRange(
         @Parameter(description = "ID пользователя", required = true) @RequestParam Long userId,
-        @Parameter(description = "Начальная дата (формат yyyy-MM-dd)", required = true) @RequestParam String startDate,
-        @Parameter(description = "Конечная дата (формат yyyy-MM-dd)", required = true) @RequestParam String endDate) {
-        List<Transaction> transactions = transactionService.getTransactionsByUserAndDateRange(userId, startDate, endDate);
+        @Parameter(description = "Начальная дата (формат yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @Parameter(description = "Конечная дата (формат yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<TransactionSummary> transactions = transactionService.getTransactionsByUserAndDateRange(userId, startDate, endDate);
         return ResponseEntity.ok(transactions);
     }
 }
\ No newline at end of file
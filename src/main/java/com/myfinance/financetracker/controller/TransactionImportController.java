@@ -0,0 +1,70 @@
+package com.myfinance.financetracker.controller;
+
+import com.myfinance.financetracker.model.ImportTask;
+import com.myfinance.financetracker.service.TransactionImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/transactions/import")
+@Tag(name = "Transaction Import Controller", description = "API для фонового импорта банковских выписок")
+public class TransactionImportController {
+
+    private final TransactionImportService importService;
+
+    public TransactionImportController(TransactionImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Импортировать выписку",
+        description = "Принимает CSV (date,amount,description[,budgetId]) и импортирует его в фоне порциями")
+    @ApiResponse(responseCode = "200", description = "Импорт поставлен в очередь")
+    @ApiResponse(responseCode = "400", description = "Пустой файл")
+    @ApiResponse(responseCode = "503", description = "Очередь импорта заполнена")
+    public Map<String, String> startImport(@RequestParam("file") MultipartFile file) {
+        String taskId = importService.startImport(file);
+        Map<String, String> response = new HashMap<>();
+        response.put("taskId", taskId);
+        return response;
+    }
+
+    @GetMapping("/status/{taskId}")
+    @Operation(summary = "Статус импорта", description = "Возвращает состояние и прогресс задачи импорта")
+    @ApiResponse(responseCode = "200", description = "Статус получен")
+    @ApiResponse(responseCode = "404", description = "Задача не найдена")
+    public Map<String, Object> getTaskStatus(@PathVariable String taskId) {
+        ImportTask task = importService.getTaskStatus(taskId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("taskId", task.getId());
+        response.put("status", task.getStatus());
+        response.put("fileName", task.getFileName());
+        response.put("importedRows", task.getImportedRows());
+        response.put("skippedRows", task.getSkippedRows());
+        response.put("createdAt", task.getCreatedAt());
+
+        if (task.getFinishedAt() != null) {
+            response.put("finishedAt", task.getFinishedAt());
+        }
+        if (task.getErrorMessage() != null) {
+            response.put("errorMessage", task.getErrorMessage());
+        }
+
+        return response;
+    }
+}
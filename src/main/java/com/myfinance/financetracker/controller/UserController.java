@@ -1,7 +1,12 @@
 package com.myfinance.financetracker.controller;
 
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.UserAmountMatch;
+import com.myfinance.financetracker.dto.UserStats;
+import com.myfinance.financetracker.dto.UserSummary;
 import com.myfinance.financetracker.exception.ResourceNotFoundException;
 import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.money.MinorUnits;
 import com.myfinance.financetracker.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,7 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.math.BigDecimal;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -26,6 +31,18 @@ public class UserController {
         this.userService = userService;
     }
 
+    @GetMapping("/stats")
+    @Operation(summary = "Получить пользователей со статистикой транзакций",
+        description = "Возвращает страницу пользователей по возрастанию ID с числом транзакций, их суммой и датой"
+            + " последней транзакции. Для следующей страницы передайте nextCursor из ответа")
+    @ApiResponse(responseCode = "200", description = "Страница пользователей успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    public ResponseEntity<CursorPage<UserStats>> getUserStats(
+        @Parameter(description = "Курсор следующей страницы") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Размер страницы (не больше 500)") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(userService.getUserStats(cursor, limit));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Получить пользователя по ID", description = "Возвращает пользователя по указанному ID")
     @ApiResponse(responseCode = "200", description = "Пользователь найден")
@@ -37,10 +54,14 @@ public class UserController {
     }
 
     @GetMapping
-    @Operation(summary = "Получить всех пользователей", description = "Возвращает список всех пользователей")
-    @ApiResponse(responseCode = "200", description = "Список пользователей успешно получен")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    @Operation(summary = "Получить всех пользователей",
+        description = "Возвращает страницу пользователей по возрастанию ID. Для следующей страницы передайте nextCursor из ответа")
+    @ApiResponse(responseCode = "200", description = "Страница пользователей успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный курсор")
+    public ResponseEntity<CursorPage<UserSummary>> getAllUsers(
+        @Parameter(description = "Курсор следующей страницы") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Размер страницы (не больше 500)") @RequestParam(defaultValue = "50") int limit) {
+        CursorPage<UserSummary> users = userService.getAllUsers(cursor, limit);
         return ResponseEntity.ok(users);
     }
 
@@ -76,11 +97,18 @@ public class UserController {
     }
 
     @GetMapping("/by-transaction-amount")
-    @Operation(summary = "Получить пользователей по сумме транзакции", description = "Возвращает список пользователей, у которых есть транзакции с указанной суммой")
-    @ApiResponse(responseCode = "200", description = "Список пользователей успешно получен")
-    public ResponseEntity<List<User>> getUsersByTransactionAmount(
-        @Parameter(description = "Сумма транзакции", required = true) @RequestParam Double amount) {
-        List<User> users = userService.getUsersByTransactionAmount(amount);
-        return ResponseEntity.ok(users);
+    @Operation(summary = "Получить пользователей по диапазону сумм транзакций",
+        description = "Возвращает страницу пользователей, у которых есть транзакции с суммой в диапазоне [min, max],"
+            + " с числом таких транзакций, по возрастанию ID. Для следующей страницы передайте nextCursor из ответа")
+    @ApiResponse(responseCode = "200", description = "Страница пользователей успешно получена")
+    @ApiResponse(responseCode = "400", description = "Некорректный диапазон сумм или курсор")
+    public ResponseEntity<CursorPage<UserAmountMatch>> getUsersByTransactionAmount(
+        @Parameter(description = "Минимальная сумма транзакции (включительно)") @RequestParam(required = false) BigDecimal min,
+        @Parameter(description = "Максимальная сумма транзакции (включительно)") @RequestParam(required = false) BigDecimal max,
+        @Parameter(description = "Курсор следующей страницы") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Размер страницы (не больше 500)") @RequestParam(defaultValue = "50") int limit) {
+        long minAmount = min != null ? MinorUnits.fromRequestParam(min, "min") : 0L;
+        long maxAmount = max != null ? MinorUnits.fromRequestParam(max, "max") : Long.MAX_VALUE;
+        return ResponseEntity.ok(userService.getUsersByTransactionAmountRange(minAmount, maxAmount, cursor, limit));
     }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.myfinance.financetracker.controller;
 
+import com.myfinance.financetracker.dto.PathHits;
 import com.myfinance.financetracker.service.VisitCounterService;
-import com.myfinance.financetracker.service.impl.VisitCounterServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @CrossOrigin(origins = "http://localhost:3000")
@@ -26,9 +29,26 @@ public class VisitController {
         return visitCounterService.getVisitCount(url);
     }
 
-    // Получение всех счетчиков
+    // Самые частые конкретные пути (с id) из скетча фиксированного размера
+    @GetMapping("/raw-top")
+    @Operation(summary = "Получить самые частые пути запросов",
+        description = "Оценки Space-Saving: истинное число запросов лежит в [count - error, count]")
+    @ApiResponse(responseCode = "200", description = "Пути успешно получены")
+    @ApiResponse(responseCode = "400", description = "Некорректный параметр k")
+    public List<PathHits> getTopRawPaths(
+        @Parameter(description = "Сколько путей вернуть") @RequestParam(defaultValue = "20") int k) {
+        return visitCounterService.getTopRawPaths(k);
+    }
+
+    // Получение счетчиков из снимка, по убыванию
     @GetMapping
-    public Map<String, Long> getAllVisits() {
-        return visitCounterService.getAllVisits();
+    @Operation(summary = "Получить счетчики посещений",
+        description = "Счетчики по убыванию; данные обновляются не чаще раза в несколько секунд")
+    @ApiResponse(responseCode = "200", description = "Счетчики успешно получены")
+    @ApiResponse(responseCode = "400", description = "Некорректный параметр top")
+    public Map<String, Long> getAllVisits(
+        @Parameter(description = "Только URL, начинающиеся с префикса") @RequestParam(required = false) String prefix,
+        @Parameter(description = "Сколько URL с наибольшими счетчиками вернуть") @RequestParam(required = false) Integer top) {
+        return visitCounterService.getVisits(prefix, top);
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.myfinance.financetracker.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.money.MinorUnits;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Количество, сумма и средняя сумма транзакций (в JSON десятичными числами).
+ */
+public record AnalyticsSummary(
+    long count,
+    @JsonSerialize(using = MinorUnitsSerializer.class) long total) {
+
+    public BigDecimal getAverage() {
+        if (count == 0) {
+            return MinorUnits.toDecimal(0);
+        }
+        return MinorUnits.toDecimal(total).divide(BigDecimal.valueOf(count), MinorUnits.SCALE, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,7 @@
+package com.myfinance.financetracker.dto;
+
+/**
+ * Связь бюджета с категорией: строка второго запроса при выдаче списка бюджетов с категориями.
+ */
+public record BudgetCategory(Long budgetId, Long categoryId, String categoryName) {
+}
@@ -0,0 +1,35 @@
+package com.myfinance.financetracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
+import java.util.List;
+
+/**
+ * Бюджет в списках: собственные колонки и, если запрошены, категории; без транзакций.
+ * Суммы - в минимальных единицах валюты, в JSON - десятичными числами, как у Budget.
+ */
+public record BudgetSummary(
+    Long id,
+    String name,
+    @JsonSerialize(using = MinorUnitsSerializer.class) long limitAmount,
+    @JsonSerialize(using = MinorUnitsSerializer.class) long spent,
+    Long version,
+    @JsonInclude(JsonInclude.Include.NON_NULL) List<CategorySummary> categories) {
+
+    // Для запросов проекции: категории не загружаются
+    public BudgetSummary(Long id, String name, long limitAmount, long spent, Long version) {
+        this(id, name, limitAmount, spent, version, null);
+    }
+
+    public BudgetSummary withCategories(List<CategorySummary> categories) {
+        return new BudgetSummary(id, name, limitAmount, spent, version, categories);
+    }
+
+    @JsonProperty("remaining")
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    public long remaining() {
+        return limitAmount - spent;
+    }
+}
@@ -0,0 +1,13 @@
+package com.myfinance.financetracker.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
+
+/**
+ * Итог по бюджету; budgetId == null - транзакции без бюджета.
+ */
+public record BudgetTotal(
+    Long budgetId,
+    long count,
+    @JsonSerialize(using = MinorUnitsSerializer.class) long total) {
+}
@@ -0,0 +1,11 @@
+package com.myfinance.financetracker.dto;
+
+/**
+ * Всё, от чего зависит представление бюджета без категорий: version меняется при
+ * редактировании, а spent меняется атомарными UPDATE без увеличения version.
+ *
+ * @param version версия бюджета
+ * @param spent потраченная сумма в минимальных единицах валюты
+ */
+public record BudgetVersion(Long version, long spent) {
+}
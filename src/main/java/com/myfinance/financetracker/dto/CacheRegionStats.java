@@ -0,0 +1,13 @@
+package com.myfinance.financetracker.dto;
+
+/**
+ * Статистика региона кэша второго уровня Hibernate с момента запуска.
+ *
+ * @param region имя региона (класс сущности или класс.коллекция)
+ * @param hitCount чтений, обслуженных кэшем
+ * @param missCount чтений, ушедших в БД
+ * @param putCount записей в кэш
+ * @param hitRatio доля попаданий среди чтений; 0, если чтений не было
+ */
+public record CacheRegionStats(String region, long hitCount, long missCount, long putCount, double hitRatio) {
+}
@@ -0,0 +1,7 @@
+package com.myfinance.financetracker.dto;
+
+/**
+ * Категория в списках: только собственные колонки, без бюджетов.
+ */
+public record CategorySummary(Long id, String name) {
+}
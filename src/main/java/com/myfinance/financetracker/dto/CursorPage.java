@@ -0,0 +1,40 @@
+package com.myfinance.financetracker.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница результатов с курсорной (keyset) пагинацией.
+ *
+ * <p>Общий контракт постраничных выборок: строки упорядочены по стабильному уникальному ключу,
+ * курсор - непрозрачная позиция последней строки страницы, а из БД читается {@link #pageSize}
+ * плюс одна строка, чтобы без COUNT понять, есть ли следующая страница.
+ *
+ * @param items элементы текущей страницы
+ * @param nextCursor непрозрачный курсор для запроса следующей страницы
+ *                   или null, если страниц больше нет
+ * @param <T> тип элементов страницы
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Размер страницы, запрошенный клиентом, приведённый к [1, MAX_PAGE_SIZE].
+     */
+    public static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Страница из строк, прочитанных с лимитом pageSize + 1; лишняя строка означает,
+     * что есть следующая страница, и курсором становится позиция последней строки страницы.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, cursorOf.apply(page.get(pageSize - 1)));
+    }
+}
@@ -0,0 +1,39 @@
+package com.myfinance.financetracker.dto;
+
+import com.myfinance.financetracker.exception.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Позиция в выборке, упорядоченной по id.
+ * Клиенту отдаётся в виде непрозрачной base64-строки.
+ *
+ * @param id идентификатор последнего элемента на странице
+ */
+public record IdCursor(Long id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(Long id) {
+        return new IdCursor(id).encode();
+    }
+
+    /**
+     * Id, после которого начинается страница; без курсора - с начала выборки (id положительные).
+     */
+    public static long afterId(String cursor) {
+        return cursor == null || cursor.isBlank() ? 0L : decode(cursor).id();
+    }
+
+    public static IdCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new IdCursor(Long.parseLong(raw));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor: " + cursor);
+        }
+    }
+}
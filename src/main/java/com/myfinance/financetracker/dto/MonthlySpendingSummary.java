@@ -0,0 +1,20 @@
+package com.myfinance.financetracker.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.model.MonthlySpendingId;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
+import java.time.YearMonth;
+
+/**
+ * Траты за месяц: сумма (в JSON десятичным числом) и количество транзакций.
+ */
+public record MonthlySpendingSummary(
+    YearMonth month,
+    @JsonSerialize(using = MinorUnitsSerializer.class) long total,
+    long transactionCount) {
+
+    // Для JPQL-проекций: месяц хранится в сводке как yyyyMM
+    public MonthlySpendingSummary(int yearMonth, long total, long transactionCount) {
+        this(MonthlySpendingId.fromKey(yearMonth), total, transactionCount);
+    }
+}
@@ -0,0 +1,7 @@
+package com.myfinance.financetracker.dto;
+
+/**
+ * Оценка числа запросов к пути из HeavyHitters: истинное значение лежит в [count - error, count].
+ */
+public record PathHits(String path, long count, long error) {
+}
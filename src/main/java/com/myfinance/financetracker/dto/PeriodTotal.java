@@ -0,0 +1,14 @@
+package com.myfinance.financetracker.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
+import java.time.LocalDate;
+
+/**
+ * Итог за период, начинающийся с periodStart.
+ */
+public record PeriodTotal(
+    LocalDate periodStart,
+    long count,
+    @JsonSerialize(using = MinorUnitsSerializer.class) long total) {
+}
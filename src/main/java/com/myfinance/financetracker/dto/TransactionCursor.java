@@ -0,0 +1,39 @@
+package com.myfinance.financetracker.dto;
+
+import com.myfinance.financetracker.exception.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Позиция в выборке транзакций, упорядоченной по (date, id).
+ * Клиенту отдаётся в виде непрозрачной base64-строки.
+ *
+ * @param date дата последней транзакции на странице
+ * @param id идентификатор последней транзакции на странице
+ */
+public record TransactionCursor(LocalDate date, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new ValidationException("Invalid cursor: " + cursor);
+            }
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.myfinance.financetracker.dto;
+
+import com.myfinance.financetracker.model.Transaction;
+import java.time.LocalDate;
+
+/**
+ * Сохранённые в БД значения транзакции, по которым строятся сводки, аналитика и поисковый индекс.
+ * Описание заполняется только там, где оно нужно (новые значения в событиях и перестроение индекса).
+ */
+public record TransactionSnapshot(Long id, Long userId, Long budgetId, LocalDate date, long amount,
+                                  String description) {
+
+    // Для запросов, которым описание не нужно
+    public TransactionSnapshot(Long id, Long userId, Long budgetId, LocalDate date, long amount) {
+        this(id, userId, budgetId, date, amount, null);
+    }
+
+    // getId() у ленивого прокси не инициализирует связанную сущность
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(transaction.getId(),
+            transaction.getUser() != null ? transaction.getUser().getId() : null,
+            transaction.getBudget() != null ? transaction.getBudget().getId() : null,
+            transaction.getDate(),
+            transaction.getAmount(),
+            transaction.getDescription());
+    }
+}
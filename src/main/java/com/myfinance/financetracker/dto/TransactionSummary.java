@@ -0,0 +1,34 @@
+package com.myfinance.financetracker.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
+import java.time.LocalDate;
+
+/**
+ * Транзакция в выдаче по пользователю и диапазону дат и в ответе массовой загрузки: неизменяемая
+ * копия колонок без сущностей и ленивых прокси, поэтому один экземпляр можно кэшировать и отдавать
+ * всем запросам.
+ * JSON совпадает с Transaction, у которой бюджет не загружен: от бюджета только id.
+ */
+public record TransactionSummary(
+    Long id,
+    @JsonSerialize(using = MinorUnitsSerializer.class) long amount,
+    LocalDate date,
+    String description,
+    BudgetRef budget) {
+
+    // Для запросов проекции
+    public TransactionSummary(Long id, long amount, LocalDate date, String description, Long budgetId) {
+        this(id, amount, date, description, budgetId == null ? null : new BudgetRef(budgetId));
+    }
+
+    // getId() у ленивого прокси не инициализирует бюджет
+    public static TransactionSummary of(Transaction transaction) {
+        return new TransactionSummary(transaction.getId(), transaction.getAmount(), transaction.getDate(),
+            transaction.getDescription(), transaction.getBudget() != null ? transaction.getBudget().getId() : null);
+    }
+
+    public record BudgetRef(Long id) {
+    }
+}
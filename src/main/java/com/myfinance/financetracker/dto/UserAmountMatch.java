@@ -0,0 +1,12 @@
+package com.myfinance.financetracker.dto;
+
+/**
+ * Пользователь, у которого есть транзакции в заданном диапазоне сумм.
+ *
+ * @param id идентификатор пользователя
+ * @param username имя пользователя
+ * @param email email пользователя
+ * @param matchCount число транзакций пользователя в диапазоне
+ */
+public record UserAmountMatch(Long id, String username, String email, long matchCount) {
+}
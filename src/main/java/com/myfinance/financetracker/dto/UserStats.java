@@ -0,0 +1,25 @@
+package com.myfinance.financetracker.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
+import java.time.LocalDate;
+
+/**
+ * Пользователь со сводкой по его транзакциям. Сумма - в минимальных единицах валюты,
+ * в JSON - десятичным числом.
+ *
+ * @param id идентификатор пользователя
+ * @param username имя пользователя
+ * @param email email пользователя
+ * @param transactionCount число транзакций пользователя
+ * @param totalAmount сумма всех транзакций пользователя
+ * @param lastTransactionDate дата последней транзакции; null, если транзакций нет
+ */
+public record UserStats(
+    Long id,
+    String username,
+    String email,
+    long transactionCount,
+    @JsonSerialize(using = MinorUnitsSerializer.class) long totalAmount,
+    LocalDate lastTransactionDate) {
+}
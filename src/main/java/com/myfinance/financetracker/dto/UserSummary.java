@@ -0,0 +1,7 @@
+package com.myfinance.financetracker.dto;
+
+/**
+ * Пользователь в списках: только собственные колонки, без транзакций.
+ */
+public record UserSummary(Long id, String username, String email) {
+}
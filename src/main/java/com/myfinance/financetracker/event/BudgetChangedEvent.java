@@ -0,0 +1,8 @@
+package com.myfinance.financetracker.event;
+
+/**
+ * Бюджет создан или изменён через BudgetService (поля, версия или набор категорий).
+ * Изменения spent приходят в TransactionChangedEvent, удаление - в TransactionsPurgedEvent.
+ */
+public record BudgetChangedEvent(Long budgetId) {
+}
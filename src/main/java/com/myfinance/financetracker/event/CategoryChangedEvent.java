@@ -0,0 +1,7 @@
+package com.myfinance.financetracker.event;
+
+/**
+ * Категория создана, изменена или удалена.
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,10 @@
+package com.myfinance.financetracker.event;
+
+import com.myfinance.financetracker.model.enums.ChangeType;
+
+/**
+ * Изменение, закоммиченное другим экземпляром приложения и прочитанное из change_log.
+ * Публикуется вне транзакции; слушатели сбрасывают соответствующие записи своих кэшей.
+ */
+public record RemoteChangeEvent(ChangeType type, Long entityId) {
+}
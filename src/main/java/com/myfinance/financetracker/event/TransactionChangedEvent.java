@@ -0,0 +1,12 @@
+package com.myfinance.financetracker.event;
+
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import java.util.List;
+
+/**
+ * Публикуется TransactionServiceImpl при каждой записи транзакций.
+ * removed - значения, которые были в БД до изменения (для обновлений и удалений),
+ * saved - значения после сохранения. Слушатели должны обрабатывать событие после коммита.
+ */
+public record TransactionChangedEvent(List<TransactionSnapshot> removed, List<TransactionSnapshot> saved) {
+}
@@ -0,0 +1,16 @@
+package com.myfinance.financetracker.event;
+
+/**
+ * Транзакции пользователя или бюджета удалены каскадно, без поштучных TransactionChangedEvent.
+ * Заполнено ровно одно из полей.
+ */
+public record TransactionsPurgedEvent(Long userId, Long budgetId) {
+
+    public static TransactionsPurgedEvent forUser(Long userId) {
+        return new TransactionsPurgedEvent(userId, null);
+    }
+
+    public static TransactionsPurgedEvent forBudget(Long budgetId) {
+        return new TransactionsPurgedEvent(null, budgetId);
+    }
+}
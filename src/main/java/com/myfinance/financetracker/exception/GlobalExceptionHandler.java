@@ -5,11 +5,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -46,6 +49,40 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    // Обработка некорректных параметров запроса, например даты не в формате yyyy-MM-dd (400)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<String> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        String message = "Invalid value '" + ex.getValue() + "' for parameter " + ex.getName();
+        logger.error("Validation error: {}", message);
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    // Некорректное тело запроса, например сумма с тремя знаками после запятой (400)
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<String> handleNotReadableException(HttpMessageNotReadableException ex) {
+        String message = "Malformed request body: " + ex.getMostSpecificCause().getMessage();
+        logger.error("Validation error: {}", message);
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    // Сущность изменена параллельно с редактированием (409)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleOptimisticLockingException(ObjectOptimisticLockingFailureException ex) {
+        logger.error("Concurrent modification: {}", ex.getMessage());
+        return new ResponseEntity<>("Resource was modified concurrently, reload it and try again", HttpStatus.CONFLICT);
+    }
+
+    // Сервис временно перегружен, например очередь импорта заполнена (503)
+    @ExceptionHandler(ServiceBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleServiceBusyException(ServiceBusyException ex) {
+        logger.error("Service busy: {}", ex.getMessage());
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // Обработка других исключений (500)
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
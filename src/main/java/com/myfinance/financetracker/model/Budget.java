@@ -2,6 +2,10 @@ package com.myfinance.financetracker.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.money.MinorUnitsDeserializer;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,19 +16,30 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "budgets")
+@NamedEntityGraph(name = Budget.WITH_CATEGORIES, attributeNodes = @NamedAttributeNode("categories"))
+// Сам бюджет во втором уровне не кэшируется: spent меняется массовым UPDATE при каждой записи
+// транзакции, а такой UPDATE вытесняет весь регион сущности. Кэшируется только список категорий
 public class Budget {
 
+    // План загрузки бюджета вместе с категориями одним запросом
+    public static final String WITH_CATEGORIES = "Budget.withCategories";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,12 +47,25 @@ public class Budget {
     @NotBlank(message = "Name is required")
     private String name;
 
+    // Суммы хранятся в минимальных единицах валюты (см. MinorUnits), в JSON — десятичными числами.
+    // Лимит - обёртка, чтобы отсутствующее в запросе значение отклонялось, а не становилось нулём
     @NotNull(message = "Limit amount is required")
     @PositiveOrZero(message = "Limit amount must be positive or zero")
     @Column(name = "limit_amount")
-    private Double limitAmount;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    @JsonDeserialize(using = MinorUnitsDeserializer.class)
+    private Long limitAmount;
+
+    // Меняется только атомарным BudgetRepository.addToSpent, поэтому исключено из UPDATE сущности:
+    // иначе сохранение бюджета перезаписало бы spent устаревшим значением
+    @Column(updatable = false)
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    @JsonDeserialize(using = MinorUnitsDeserializer.class)
+    private long spent;
 
-    private Double spent = 0.0;
+    // Оптимистическая блокировка для редактирования бюджета
+    @Version
+    private Long version;
 
     @ManyToMany(
         cascade = {CascadeType.PERSIST, CascadeType.MERGE},
@@ -47,6 +75,7 @@ public class Budget {
         joinColumns = @JoinColumn(name = "budget_id"),
         inverseJoinColumns = @JoinColumn(name = "category_id"))
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Category> categories = new ArrayList<>();
 
     @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -55,15 +84,13 @@ public class Budget {
 
     public Budget() {}
 
-    public Budget(String name, Double limitAmount) {
+    public Budget(String name, long limitAmount) {
         this.name = name;
         this.limitAmount = limitAmount;
     }
 
-    public Double getRemaining() {
-        if (limitAmount == null) {
-            return null; // или вернуть 0.0, если это имеет смысл в вашем контексте
-        }
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    public long getRemaining() {
         return limitAmount - spent;
     }
 
@@ -79,23 +106,31 @@ public class Budget {
         this.name = name;
     }
 
-    public Double getLimitAmount() {
+    public Long getLimitAmount() {
         return limitAmount;
     }
 
-    public void setLimitAmount(Double limitAmount) {
+    public void setLimitAmount(Long limitAmount) {
         this.limitAmount = limitAmount;
     }
 
-    public Double getSpent() {
+    public long getSpent() {
         return spent;
     }
 
 
-    public void setSpent(Double spent) {
+    public void setSpent(long spent) {
         this.spent = spent;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Category> getCategories() {
         return categories;
     }
@@ -150,7 +185,7 @@ public class Budget {
     }
 
 
-    public void setAmount(double v)
+    public void setAmount(long v)
     {
         this.limitAmount=v;
     }
@@ -0,0 +1,69 @@
+package com.myfinance.financetracker.model;
+
+import com.myfinance.financetracker.model.enums.ChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Запись журнала изменений, по которому экземпляры приложения сбрасывают свои кэши.
+ * Пишется в транзакции изменения (см. ChangeLogServiceImpl), хранится ограниченное время.
+ */
+@Entity
+@Table(name = "change_log")
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 32)
+    private ChangeType changeType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Экземпляр, записавший изменение: свои записи он не применяет повторно
+    @Column(name = "origin", nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public ChangeLogEntry() {
+    }
+
+    public ChangeLogEntry(ChangeType changeType, Long entityId, String origin, Instant createdAt) {
+        this.changeType = changeType;
+        this.entityId = entityId;
+        this.origin = origin;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
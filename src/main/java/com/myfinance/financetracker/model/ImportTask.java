@@ -0,0 +1,44 @@
+package com.myfinance.financetracker.model;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Состояние фоновой задачи импорта банковской выписки.
+ * Обновляется рабочим потоком импорта и читается из запросов статуса.
+ */
+public class ImportTask {
+    private final String id;
+    private final String fileName;
+    private final LocalDateTime createdAt;
+    private final AtomicLong importedRows = new AtomicLong();
+    private final AtomicLong skippedRows = new AtomicLong();
+    private volatile String status;
+    private volatile String errorMessage;
+    private volatile LocalDateTime finishedAt;
+
+    public ImportTask(String id, String status, String fileName, LocalDateTime createdAt) {
+        this.id = id;
+        this.status = status;
+        this.fileName = fileName;
+        this.createdAt = createdAt;
+    }
+
+    // Геттеры
+    public String getId() { return id; }
+    public String getStatus() { return status; }
+    public String getFileName() { return fileName; }
+    public long getImportedRows() { return importedRows.get(); }
+    public long getSkippedRows() { return skippedRows.get(); }
+    public String getErrorMessage() { return errorMessage; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    // Сеттеры
+    public void setStatus(String status) { this.status = status; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public void addImportedRows(long rows) { importedRows.addAndGet(rows); }
+    public void addSkippedRow() { skippedRows.incrementAndGet(); }
+}
@@ -0,0 +1,40 @@
+package com.myfinance.financetracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * Сводка трат пользователя по бюджету за месяц. Поддерживается инкрементально
+ * в той же транзакции, что и изменения Transaction (см. TransactionServiceImpl).
+ */
+@Entity
+@Table(name = "monthly_spending")
+public class MonthlySpending {
+
+    @EmbeddedId
+    private MonthlySpendingId id;
+
+    // Сумма в минимальных единицах валюты (см. MinorUnits)
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    public MonthlySpending() {
+    }
+
+    public MonthlySpendingId getId() {
+        return id;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
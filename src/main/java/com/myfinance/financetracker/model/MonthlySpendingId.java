@@ -0,0 +1,79 @@
+package com.myfinance.financetracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Objects;
+
+/**
+ * Ключ месячной сводки. Отсутствующие пользователь или бюджет хранятся как 0,
+ * потому что столбцы первичного ключа не могут быть NULL.
+ */
+@Embeddable
+public class MonthlySpendingId implements Serializable {
+
+    public static final long NONE = 0L;
+
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Column(name = "budget_id", nullable = false)
+    private long budgetId;
+
+    // Месяц в виде yyyyMM, например 202403: компактно и сортируется как число
+    @Column(name = "year_month", nullable = false)
+    private int yearMonth;
+
+    public MonthlySpendingId() {
+    }
+
+    public MonthlySpendingId(Long userId, Long budgetId, LocalDate date) {
+        this.userId = userId != null ? userId : NONE;
+        this.budgetId = budgetId != null ? budgetId : NONE;
+        this.yearMonth = toKey(YearMonth.from(date));
+    }
+
+    public static int toKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public static YearMonth fromKey(int key) {
+        return YearMonth.of(key / 100, key % 100);
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getBudgetId() {
+        return budgetId;
+    }
+
+    public int getYearMonth() {
+        return yearMonth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MonthlySpendingId)) {
+            return false;
+        }
+        MonthlySpendingId that = (MonthlySpendingId) o;
+        return userId == that.userId && budgetId == that.budgetId && yearMonth == that.yearMonth;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, budgetId, yearMonth);
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlySpendingId{userId=" + userId + ", budgetId=" + budgetId + ", yearMonth=" + yearMonth + '}';
+    }
+}
@@ -2,33 +2,52 @@ package com.myfinance.financetracker.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.myfinance.financetracker.money.MinorUnitsDeserializer;
+import com.myfinance.financetracker.money.MinorUnitsSerializer;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+    indexes = {
+        @Index(name = "idx_transactions_date_id", columnList = "date, id"),
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, date"),
+        @Index(name = "idx_transactions_amount_user", columnList = "amount, user_id")
+    })
 public class Transaction {
 
+    // Последовательность вместо IDENTITY: Hibernate заранее резервирует пачку id
+    // и может отправлять INSERT-ы JDBC-батчами
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 1000)
     private Long id;
 
+    // Сумма в минимальных единицах валюты (см. MinorUnits), в JSON — десятичным числом.
+    // Обёртка, а не long: иначе отсутствующая в запросе сумма молча становилась бы нулём
     @NotNull(message = "Amount is required")
     @PositiveOrZero(message = "Amount must be positive or zero")
-    private Double amount;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    @JsonDeserialize(using = MinorUnitsDeserializer.class)
+    private Long amount;
 
-    @NotBlank(message = "Date is required")
-    private String date;
+    @NotNull(message = "Date is required")
+    private LocalDate date;
 
     @NotBlank(message = "Description is required")
     private String description;
@@ -46,7 +65,7 @@ public class Transaction {
     public Transaction() {
     }
 
-    public Transaction(Double amount, String date, String description, Budget budget, User user) {
+    public Transaction(long amount, LocalDate date, String description, Budget budget, User user) {
         this.amount = amount;
         this.date = date;
         this.description = description;
@@ -60,19 +79,19 @@ public class Transaction {
         return id;
     }
 
-    public Double getAmount() {
+    public Long getAmount() {
         return amount;
     }
 
-    public void setAmount(Double amount) {
+    public void setAmount(Long amount) {
         this.amount = amount;
     }
 
-    public String getDate() {
+    public LocalDate getDate() {
         return date;
     }
 
-    public void setDate(String date) {
+    public void setDate(LocalDate date) {
         this.date = date;
     }
 
@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Entity
-@Table(name = "visits")
+@Table(name = "visits", uniqueConstraints = @UniqueConstraint(name = "uk_visits_url", columnNames = "url"))
 public class Visit {
 
     @Id
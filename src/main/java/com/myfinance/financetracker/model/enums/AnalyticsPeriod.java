@@ -0,0 +1,40 @@
+package com.myfinance.financetracker.model.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Период группировки в аналитике. Неделя начинается с понедельника.
+ */
+public enum AnalyticsPeriod {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS),
+    YEAR(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    AnalyticsPeriod(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDate startOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate next(LocalDate periodStart) {
+        return periodStart.plus(1, unit);
+    }
+
+    /** Количество периодов, затрагиваемых диапазоном [from, to]. */
+    public long count(LocalDate from, LocalDate to) {
+        return unit.between(startOf(from), startOf(to)) + 1;
+    }
+}
@@ -0,0 +1,17 @@
+package com.myfinance.financetracker.model.enums;
+
+/**
+ * Вид изменения в журнале change_log; entity_id - id бюджета, категории или пользователя.
+ */
+public enum ChangeType {
+    // Бюджет изменён: поля или набор категорий
+    BUDGET,
+    // Изменился только spent бюджета (записаны или удалены его транзакции); кэш категорий бюджета не трогает
+    BUDGET_SPENT,
+    // Категория изменена или удалена
+    CATEGORY,
+    // Изменены транзакции пользователя; id - пользователь
+    USER_TRANSACTIONS,
+    // Бюджет удалён вместе с транзакциями
+    BUDGET_TRANSACTIONS
+}
@@ -0,0 +1,11 @@
+package com.myfinance.financetracker.model.enums;
+
+/**
+ * Режим поиска по описанию транзакций.
+ */
+public enum SearchMode {
+    // Запрос встречается в любом месте описания
+    SUBSTRING,
+    // С запроса начинается одно из слов описания
+    PREFIX
+}
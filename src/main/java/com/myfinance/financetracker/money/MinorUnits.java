@@ -0,0 +1,54 @@
+package com.myfinance.financetracker.money;
+
+import com.myfinance.financetracker.exception.ValidationException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Денежные суммы хранятся как {@code long} в минимальных единицах валюты (копейки/центы).
+ * Сложение целых чисел точное и не создаёт объектов, в отличие от {@code Double}.
+ */
+public final class MinorUnits {
+
+    /** Количество знаков после запятой у минимальной единицы. */
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Переводит десятичную сумму в минимальные единицы.
+     *
+     * @throws ArithmeticException если у суммы больше {@link #SCALE} знаков после запятой
+     *                             или она не помещается в {@code long}
+     */
+    public static long fromDecimal(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Разбирает строку вида {@code "12.50"}.
+     *
+     * @throws NumberFormatException если строка не является числом
+     * @throws ArithmeticException   если знаков после запятой больше {@link #SCALE}
+     */
+    public static long parse(String amount) {
+        return fromDecimal(new BigDecimal(amount));
+    }
+
+    /**
+     * Переводит сумму из параметра запроса; некорректное значение даёт 400, а не 500.
+     */
+    public static long fromRequestParam(BigDecimal amount, String name) {
+        try {
+            return fromDecimal(amount);
+        } catch (ArithmeticException e) {
+            throw new ValidationException(
+                "Parameter '" + name + "' must have at most " + SCALE + " decimal places");
+        }
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
@@ -0,0 +1,41 @@
+package com.myfinance.financetracker.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Принимает сумму как десятичное число или строку (12.5, "12.50") и переводит в минимальные единицы.
+ * Суммы с большим числом знаков после запятой отклоняются, а не округляются молча.
+ */
+public class MinorUnitsDeserializer extends StdDeserializer<Long> {
+
+    public MinorUnitsDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        BigDecimal amount;
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT) || p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+            amount = p.getDecimalValue();
+        } else if (p.hasToken(JsonToken.VALUE_STRING)) {
+            try {
+                amount = new BigDecimal(p.getText().trim());
+            } catch (NumberFormatException e) {
+                return (Long) ctxt.handleWeirdStringValue(Long.class, p.getText(), "not a decimal amount");
+            }
+        } else {
+            return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+        try {
+            return MinorUnits.fromDecimal(amount);
+        } catch (ArithmeticException e) {
+            return (Long) ctxt.handleWeirdNumberValue(Long.class, amount,
+                "amount must have at most " + MinorUnits.SCALE + " decimal places");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.myfinance.financetracker.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Отдаёт сумму в минимальных единицах как десятичное число: 1250 -> 12.50.
+ */
+public class MinorUnitsSerializer extends StdSerializer<Long> {
+
+    public MinorUnitsSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(MinorUnits.toDecimal(value));
+    }
+}
@@ -1,14 +1,54 @@
 package com.myfinance.financetracker.repository;
 
+import com.myfinance.financetracker.dto.BudgetCategory;
+import com.myfinance.financetracker.dto.BudgetSummary;
+import com.myfinance.financetracker.dto.BudgetVersion;
 import com.myfinance.financetracker.model.Budget;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
-    @Query(value = "SELECT * FROM budgets WHERE limit_amount <= :limit", nativeQuery = true)
-    List<Budget> findBudgetsByLimitLessThanOrEqual(@Param("limit") Double limit);
+    // Страницы бюджетов после afterId по возрастанию id, без загрузки сущностей, категорий и транзакций
+    @Query("SELECT new com.myfinance.financetracker.dto.BudgetSummary(b.id, b.name, b.limitAmount, b.spent, b.version)"
+        + " FROM Budget b WHERE b.id > :afterId ORDER BY b.id")
+    List<BudgetSummary> findSummariesAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT new com.myfinance.financetracker.dto.BudgetSummary(b.id, b.name, b.limitAmount, b.spent, b.version)"
+        + " FROM Budget b WHERE b.limitAmount <= :limit AND b.id > :afterId ORDER BY b.id")
+    List<BudgetSummary> findSummariesByLimitLessThanOrEqual(
+        @Param("limit") long limit, @Param("afterId") long afterId, Limit pageLimit);
+
+    // Категории бюджетов страницы: второй и последний запрос при выдаче страницы с категориями
+    @Query("SELECT new com.myfinance.financetracker.dto.BudgetCategory(b.id, c.id, c.name)"
+        + " FROM Budget b JOIN b.categories c WHERE b.id IN :budgetIds ORDER BY b.id, c.id")
+    List<BudgetCategory> findCategoryLinksByBudgetIds(@Param("budgetIds") Collection<Long> budgetIds);
+
+    // Версия бюджета для ETag: две колонки по первичному ключу, без загрузки сущности
+    @Query("SELECT new com.myfinance.financetracker.dto.BudgetVersion(b.version, b.spent) FROM Budget b WHERE b.id = :id")
+    Optional<BudgetVersion> findVersionById(@Param("id") Long id);
+
+    // Какие из переданных id бюджетов существуют: проверка порции импорта до сохранения
+    @Query("SELECT b.id FROM Budget b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Бюджет вместе с категориями одним запросом
+    @EntityGraph(Budget.WITH_CATEGORIES)
+    Optional<Budget> findWithCategoriesById(Long id);
+
+    // Атомарно прибавляет delta к потраченной сумме (результат не опускается ниже нуля).
+    // Бюджет не читается, version не увеличивается: изменения spent не конфликтуют
+    // с редактированием бюджета. Возвращает число изменённых строк (0 - бюджета нет)
+    @Modifying
+    @Query("UPDATE Budget b SET b.spent = CASE WHEN b.spent + :delta < 0 THEN 0 ELSE b.spent + :delta END"
+        + " WHERE b.id = :id")
+    int addToSpent(@Param("id") Long id, @Param("delta") long delta);
 }
\ No newline at end of file
@@ -1,9 +1,24 @@
 package com.myfinance.financetracker.repository;
 
+import com.myfinance.financetracker.dto.CategorySummary;
 import com.myfinance.financetracker.model.Category;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
-}
\ No newline at end of file
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryRepositoryCustom {
+
+    // Страница категорий после afterId по возрастанию id, без загрузки сущностей и их бюджетов
+    @Query("SELECT new com.myfinance.financetracker.dto.CategorySummary(c.id, c.name)"
+        + " FROM Category c WHERE c.id > :afterId ORDER BY c.id")
+    List<CategorySummary> findSummariesAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Версия категории для ETag без загрузки сущности
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,15 @@
+package com.myfinance.financetracker.repository;
+
+import com.myfinance.financetracker.model.Category;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Загрузка категорий по списку id через кэш второго уровня.
+ */
+public interface CategoryRepositoryCustom {
+
+    // В отличие от findAllById (SELECT ... WHERE id IN), берёт найденные в кэше категории оттуда
+    // и запрашивает из БД только остальные. Отсутствующие id пропускаются, порядок - как в ids
+    List<Category> loadAllById(Collection<Long> ids);
+}
@@ -0,0 +1,34 @@
+package com.myfinance.financetracker.repository;
+
+import com.myfinance.financetracker.model.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+public class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Session из общего EntityManager доступна только внутри транзакции
+    @Override
+    @Transactional(readOnly = true)
+    public List<Category> loadAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Category> loaded = entityManager.unwrap(Session.class)
+            .byMultipleIds(Category.class)
+            .with(CacheMode.NORMAL)
+            // Без проверки сессии multiLoad не смотрит и в кэш второго уровня
+            .enableSessionCheck(true)
+            .multiLoad(new ArrayList<>(ids));
+        return loaded.stream().filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.myfinance.financetracker.repository;
+
+import com.myfinance.financetracker.model.ChangeLogEntry;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByIdGreaterThanOrderById(long afterId, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM ChangeLogEntry c")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,49 @@
+package com.myfinance.financetracker.repository;
+
+import com.myfinance.financetracker.dto.MonthlySpendingSummary;
+import com.myfinance.financetracker.model.MonthlySpending;
+import com.myfinance.financetracker.model.MonthlySpendingId;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MonthlySpendingRepository extends JpaRepository<MonthlySpending, MonthlySpendingId> {
+
+    // Атомарно прибавляет изменения к сводке, создавая строку при первом обращении
+    @Modifying
+    @Query("INSERT INTO MonthlySpending (id.userId, id.budgetId, id.yearMonth, total, transactionCount)"
+        + " VALUES (:userId, :budgetId, :yearMonth, :amount, :count)"
+        + " ON CONFLICT (id.userId, id.budgetId, id.yearMonth) DO UPDATE"
+        + " SET total = total + excluded.total, transactionCount = transactionCount + excluded.transactionCount")
+    int addToMonth(@Param("userId") long userId, @Param("budgetId") long budgetId, @Param("yearMonth") int yearMonth,
+                   @Param("amount") long amount, @Param("count") long count);
+
+    // Помесячные итоги пользователя по всем бюджетам; месяцы в формате yyyyMM
+    @Query("SELECT new com.myfinance.financetracker.dto.MonthlySpendingSummary("
+        + "m.id.yearMonth, SUM(m.total), SUM(m.transactionCount)) FROM MonthlySpending m"
+        + " WHERE m.id.userId = :userId AND m.id.yearMonth BETWEEN :fromMonth AND :toMonth"
+        + " GROUP BY m.id.yearMonth ORDER BY m.id.yearMonth")
+    List<MonthlySpendingSummary> sumByUser(@Param("userId") long userId,
+                                           @Param("fromMonth") int fromMonth, @Param("toMonth") int toMonth);
+
+    // Помесячные итоги пользователя по одному бюджету
+    @Query("SELECT new com.myfinance.financetracker.dto.MonthlySpendingSummary("
+        + "m.id.yearMonth, m.total, m.transactionCount) FROM MonthlySpending m"
+        + " WHERE m.id.userId = :userId AND m.id.budgetId = :budgetId"
+        + " AND m.id.yearMonth BETWEEN :fromMonth AND :toMonth ORDER BY m.id.yearMonth")
+    List<MonthlySpendingSummary> findByUserAndBudget(@Param("userId") long userId, @Param("budgetId") long budgetId,
+                                                     @Param("fromMonth") int fromMonth, @Param("toMonth") int toMonth);
+
+    // Транзакции пользователя или бюджета удаляются каскадно - вместе с ними удаляются и сводки
+    @Modifying
+    @Query("DELETE FROM MonthlySpending m WHERE m.id.userId = :userId")
+    int deleteByUserId(@Param("userId") long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySpending m WHERE m.id.budgetId = :budgetId")
+    int deleteByBudgetId(@Param("budgetId") long budgetId);
+}
@@ -1,20 +1,99 @@
 package com.myfinance.financetracker.repository;
 
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.dto.TransactionSummary;
 import com.myfinance.financetracker.model.Transaction;
+import java.time.LocalDate;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND"
-        +
-        " t.date BETWEEN :startDate AND :endDate")
-    List<Transaction> findTransactionsByUserAndDateRange(
+    // Транзакции пользователя за диапазон дат в виде неизменяемых записей для кэша диапазонов
+    @Query("SELECT new com.myfinance.financetracker.dto.TransactionSummary(t.id, t.amount, t.date, t.description, b.id)"
+        + " FROM Transaction t LEFT JOIN t.budget b"
+        + " WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date, t.id")
+    List<TransactionSummary> findSummariesByUserAndDateRange(
         @Param("userId") Long userId,
-        @Param("startDate") String startDate,
-        @Param("endDate") String endDate
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
     );
-}
\ No newline at end of file
+
+    // Первая страница транзакций в диапазоне дат, упорядоченная по (date, id)
+    @Query("SELECT t FROM Transaction t WHERE t.date >= :startDate AND t.date <= :endDate"
+        + " ORDER BY t.date, t.id")
+    List<Transaction> findByDateRange(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        Limit limit
+    );
+
+    // Следующая страница: строки строго после курсора (afterDate, afterId)
+    @Query("SELECT t FROM Transaction t WHERE t.date >= :startDate AND t.date <= :endDate"
+        + " AND (t.date > :afterDate OR (t.date = :afterDate AND t.id > :afterId))"
+        + " ORDER BY t.date, t.id")
+    List<Transaction> findByDateRangeAfter(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("afterDate") LocalDate afterDate,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    // Потоковое чтение для выгрузки: строки подтягиваются с сервера порциями по fetch size,
+    // а не материализуются списком. Вызывать только внутри транзакции и закрывать поток
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.date >= :startDate AND t.date <= :endDate"
+        + " ORDER BY t.date, t.id")
+    Stream<Transaction> streamByDateRange(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    // Значения транзакций в том виде, в каком они сохранены в БД. FlushMode COMMIT не даёт
+    // сбросить изменённые, но ещё не сохранённые сущности до запроса - иначе вернулись бы новые значения
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new com.myfinance.financetracker.dto.TransactionSnapshot(t.id, u.id, b.id, t.date, t.amount)"
+        + " FROM Transaction t LEFT JOIN t.user u LEFT JOIN t.budget b WHERE t.id IN :ids")
+    List<TransactionSnapshot> findSnapshotsByIds(@Param("ids") Collection<Long> ids);
+
+    // Все транзакции пользователя в порядке (date, id) для загрузки колоночного кэша аналитики.
+    // Вызывать только внутри транзакции и закрывать поток
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.myfinance.financetracker.dto.TransactionSnapshot(t.id, u.id, b.id, t.date, t.amount)"
+        + " FROM Transaction t JOIN t.user u LEFT JOIN t.budget b WHERE u.id = :userId AND t.date IS NOT NULL"
+        + " ORDER BY t.date, t.id")
+    Stream<TransactionSnapshot> streamSnapshotsByUser(@Param("userId") Long userId);
+
+    // Все транзакции пользователей с описанием - для перестроения поискового индекса при старте.
+    // Вызывать только внутри транзакции и закрывать поток
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.myfinance.financetracker.dto.TransactionSnapshot("
+        + "t.id, u.id, b.id, t.date, t.amount, t.description)"
+        + " FROM Transaction t JOIN t.user u LEFT JOIN t.budget b WHERE t.description IS NOT NULL")
+    Stream<TransactionSnapshot> streamSearchDocuments();
+
+    @Query("SELECT new com.myfinance.financetracker.dto.TransactionSnapshot("
+        + "t.id, u.id, b.id, t.date, t.amount, t.description)"
+        + " FROM Transaction t JOIN t.user u LEFT JOIN t.budget b"
+        + " WHERE u.id = :userId AND t.description IS NOT NULL")
+    Stream<TransactionSnapshot> streamSearchDocumentsByUser(@Param("userId") Long userId);
+}
@@ -1,6 +1,10 @@
 package com.myfinance.financetracker.repository;
 
+import com.myfinance.financetracker.dto.UserAmountMatch;
+import com.myfinance.financetracker.dto.UserStats;
+import com.myfinance.financetracker.dto.UserSummary;
 import com.myfinance.financetracker.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,7 +15,31 @@ import java.util.List;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    // Поиск пользователей по amount транзакции
-    @Query("SELECT DISTINCT u FROM User u JOIN u.transactions t WHERE t.amount = :amount")
-    List<User> findUsersByTransactionAmount(@Param("amount") Double amount);
-}
\ No newline at end of file
+    // Страница пользователей после afterId по возрастанию id, без загрузки сущностей и их транзакций
+    @Query("SELECT new com.myfinance.financetracker.dto.UserSummary(u.id, u.username, u.email)"
+        + " FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummariesAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Пользователи с транзакциями в диапазоне сумм [minAmount, maxAmount] и числом таких транзакций,
+    // по возрастанию id начиная после afterId. Диапазон читается по индексу (amount, user_id)
+    @Query("SELECT new com.myfinance.financetracker.dto.UserAmountMatch(u.id, u.username, u.email, COUNT(t.id))"
+        + " FROM Transaction t JOIN t.user u"
+        + " WHERE t.amount >= :minAmount AND t.amount <= :maxAmount AND u.id > :afterId"
+        + " GROUP BY u.id, u.username, u.email ORDER BY u.id")
+    List<UserAmountMatch> findUsersByTransactionAmountRange(
+        @Param("minAmount") long minAmount,
+        @Param("maxAmount") long maxAmount,
+        @Param("afterId") long afterId,
+        Limit limit
+    );
+
+    // Страница пользователей после afterId по возрастанию id со сводкой по транзакциям: один
+    // сгруппированный запрос, коллекции транзакций не загружаются. LEFT JOIN оставляет
+    // пользователей без транзакций; транзакции пользователя читаются по индексу (user_id, date)
+    @Query("SELECT new com.myfinance.financetracker.dto.UserStats(u.id, u.username, u.email,"
+        + " COUNT(t.id), COALESCE(SUM(t.amount), 0L), MAX(t.date))"
+        + " FROM User u LEFT JOIN u.transactions t"
+        + " WHERE u.id > :afterId"
+        + " GROUP BY u.id, u.username, u.email ORDER BY u.id")
+    List<UserStats> findUserStats(@Param("afterId") long afterId, Limit limit);
+}
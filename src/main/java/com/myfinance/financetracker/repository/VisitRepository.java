@@ -8,7 +8,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface VisitRepository extends JpaRepository<Visit, Long> {
+public interface VisitRepository extends JpaRepository<Visit, Long>, VisitRepositoryCustom {
     Visit findByUrl(String url);
 
     @Query("SELECT v.url, v.count FROM Visit v")
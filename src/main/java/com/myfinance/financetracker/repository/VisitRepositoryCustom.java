@@ -0,0 +1,14 @@
+package com.myfinance.financetracker.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Атомарное добавление прироста к счётчикам посещений.
+ */
+public interface VisitRepositoryCustom {
+
+    // Один пакет upsert-ов в одной транзакции: count = count + delta, новые URL вставляются.
+    // Безопасно при одновременном вызове с нескольких экземпляров приложения
+    void addCounts(Map<String, Long> deltas, LocalDateTime visitedAt);
+}
@@ -0,0 +1,79 @@
+package com.myfinance.financetracker.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class VisitRepositoryCustomImpl implements VisitRepositoryCustom {
+
+    // PostgreSQL: ON CONFLICT не даёт двум экземплярам вставить один URL дважды
+    private static final String POSTGRESQL_UPSERT =
+        "INSERT INTO visits (url, count, last_visited_at) VALUES (?, ?, ?)"
+            + " ON CONFLICT (url) DO UPDATE"
+            + " SET count = visits.count + EXCLUDED.count, last_visited_at = EXCLUDED.last_visited_at";
+
+    // Остальные БД (H2 в тестах): стандартный MERGE. При одновременной вставке одного URL
+    // он падает на уникальном ключе; пакет откатывается целиком и повторяется
+    private static final String MERGE_UPSERT =
+        "MERGE INTO visits v"
+            + " USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS TIMESTAMP)))"
+            + " AS d (url, delta, visited_at) ON v.url = d.url"
+            + " WHEN MATCHED THEN UPDATE SET count = v.count + d.delta, last_visited_at = d.visited_at"
+            + " WHEN NOT MATCHED THEN INSERT (url, count, last_visited_at) VALUES (d.url, d.delta, d.visited_at)";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile String upsertSql;
+
+    public VisitRepositoryCustomImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void addCounts(Map<String, Long> deltas, LocalDateTime visitedAt) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Строки блокируются в одном порядке на всех экземплярах, поэтому одновременные
+        // сбросы ждут друг друга, но не взаимоблокируются
+        List<Map.Entry<String, Long>> rows = deltas.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList();
+        Timestamp timestamp = Timestamp.valueOf(visitedAt);
+        String sql = upsertSql();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(sql, rows, rows.size(), (statement, row) -> {
+                        statement.setString(1, row.getKey());
+                        statement.setLong(2, row.getValue());
+                        statement.setTimestamp(3, timestamp);
+                    }));
+                return;
+            } catch (DuplicateKeyException e) {
+                // Повтор найдёт вставленную другим экземпляром строку и обновит её
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equals(database) ? POSTGRESQL_UPSERT : MERGE_UPSERT;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
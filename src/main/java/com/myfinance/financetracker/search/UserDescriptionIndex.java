@@ -0,0 +1,342 @@
+package com.myfinance.financetracker.search;
+
+import com.myfinance.financetracker.model.enums.SearchMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по описаниям транзакций одного пользователя. Описание приводится
+ * к нижнему регистру и раскладывается на триграммы; для каждой триграммы хранится
+ * возрастающий список номеров документов. Запрос от трёх символов сужается пересечением
+ * списков его триграмм, а кандидаты проверяются по самому тексту, поэтому ложных совпадений
+ * нет. Более короткие запросы проверяются перебором описаний пользователя.
+ *
+ * <p>Документы нумеруются в порядке добавления. Удалённые документы только помечаются и
+ * вычищаются пересборкой, когда их становится больше половины. Запросы выполняются под
+ * read-lock, изменения - под write-lock; upsert и удаление по id идемпотентны.
+ */
+public final class UserDescriptionIndex {
+
+    private static final int TRIGRAM = 3;
+    // Пересборка не запускается ради единичных удалений
+    private static final int MIN_COMPACTION = 64;
+    // Транзакции без даты в выдаче идут последними
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NO_BUDGET = 0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int docCount;
+    private long[] ids = new long[16];
+    private long[] budgetIds = new long[16];
+    private int[] epochDays = new int[16];
+    private String[] texts = new String[16];
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private final Map<Long, Integer> docById = new HashMap<>();
+    private final Map<Long, Postings> postingsByTrigram = new HashMap<>();
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Добавляет или заменяет описание транзакции. Транзакции без описания не индексируются.
+     */
+    public void upsert(long id, LocalDate date, Long budgetId, String description) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(id);
+            if (description != null && !description.isEmpty()) {
+                addDoc(id, date == null ? NO_DATE : (int) date.toEpochDay(),
+                    budgetId == null ? NO_BUDGET : budgetId, normalize(description));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет все транзакции бюджета.
+     */
+    public void removeBudget(long budgetId) {
+        lock.writeLock().lock();
+        try {
+            for (int doc = 0; doc < docCount; doc++) {
+                if (budgetIds[doc] == budgetId && !deleted.get(doc)) {
+                    removeDoc(ids[doc]);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Id транзакций, описание которых содержит запрос (без учёта регистра), не больше limit,
+     * по убыванию даты, а в пределах дня - по убыванию id.
+     */
+    public List<Long> search(String query, SearchMode mode, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            TopDocs top = new TopDocs(limit);
+            if (needle.length() >= TRIGRAM) {
+                for (int doc : candidates(needle)) {
+                    offerIfMatches(top, doc, needle, mode);
+                }
+            } else {
+                for (int doc = 0; doc < docCount; doc++) {
+                    offerIfMatches(top, doc, needle, mode);
+                }
+            }
+            return top.drainIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- поиск ---
+
+    private void offerIfMatches(TopDocs top, int doc, String needle, SearchMode mode) {
+        if (!deleted.get(doc) && matches(texts[doc], needle, mode)) {
+            top.offer(doc);
+        }
+    }
+
+    private static boolean matches(String text, String needle, SearchMode mode) {
+        if (mode != SearchMode.PREFIX) {
+            return text.contains(needle);
+        }
+        for (int at = text.indexOf(needle); at >= 0; at = text.indexOf(needle, at + 1)) {
+            if (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Документы, в которых есть все триграммы запроса; пересечение начинается с самого короткого списка
+    private int[] candidates(String needle) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + TRIGRAM <= needle.length(); i++) {
+            trigrams.add(trigram(needle, i));
+        }
+        List<Postings> lists = new ArrayList<>(trigrams.size());
+        for (Long trigram : trigrams) {
+            Postings postings = postingsByTrigram.get(trigram);
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] docs, Postings postings) {
+        int[] result = new int[docs.length];
+        int count = 0;
+        int from = 0;
+        for (int doc : docs) {
+            // Списки возрастающие: следующий поиск продолжается с найденной позиции
+            int position = Arrays.binarySearch(postings.docs, from, postings.size, doc);
+            if (position >= 0) {
+                result[count++] = doc;
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+            if (from == postings.size) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // --- изменение ---
+
+    private void addDoc(long id, int day, long budgetId, String text) {
+        if (docCount == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            budgetIds = Arrays.copyOf(budgetIds, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+        }
+        int doc = docCount++;
+        ids[doc] = id;
+        budgetIds[doc] = budgetId;
+        epochDays[doc] = day;
+        texts[doc] = text;
+        docById.put(id, doc);
+        for (int i = 0; i + TRIGRAM <= text.length(); i++) {
+            postingsByTrigram.computeIfAbsent(trigram(text, i), key -> new Postings()).add(doc);
+        }
+    }
+
+    private void removeDoc(long id) {
+        Integer doc = docById.remove(id);
+        if (doc != null) {
+            deleted.set(doc);
+            texts[doc] = null;
+            deletedCount++;
+        }
+    }
+
+    // Пересборка из живых документов с сохранением их порядка
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_COMPACTION || deletedCount * 2 < docCount) {
+            return;
+        }
+        long[] oldIds = ids;
+        long[] oldBudgetIds = budgetIds;
+        int[] oldEpochDays = epochDays;
+        String[] oldTexts = texts;
+        int oldCount = docCount;
+        int capacity = Math.max(16, oldCount - deletedCount);
+        ids = new long[capacity];
+        budgetIds = new long[capacity];
+        epochDays = new int[capacity];
+        texts = new String[capacity];
+        docCount = 0;
+        docById.clear();
+        postingsByTrigram.clear();
+        for (int doc = 0; doc < oldCount; doc++) {
+            if (!deleted.get(doc)) {
+                addDoc(oldIds[doc], oldEpochDays[doc], oldBudgetIds[doc], oldTexts[doc]);
+            }
+        }
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    private static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    // Возрастающий список документов одной триграммы
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            // Триграмма может повторяться в описании, документ добавляется один раз
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+
+    // Лучшие limit документов в порядке выдачи (дата, затем id по убыванию): куча с худшим в корне
+    private final class TopDocs {
+        private final int[] heap;
+        private int size;
+
+        TopDocs(int limit) {
+            heap = new int[limit];
+        }
+
+        void offer(int doc) {
+            if (size < heap.length) {
+                heap[size] = doc;
+                siftUp(size++);
+            } else if (before(heap[0], doc)) {
+                heap[0] = doc;
+                siftDown(0);
+            }
+        }
+
+        List<Long> drainIds() {
+            Long[] result = new Long[size];
+            while (size > 0) {
+                result[size - 1] = ids[heap[0]];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return Arrays.asList(result);
+        }
+
+        // Документ a идёт в выдаче после b
+        private boolean before(int a, int b) {
+            return epochDays[a] != epochDays[b] ? epochDays[a] < epochDays[b] : ids[a] < ids[b];
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!before(heap[index], heap[parent])) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && before(heap[left], heap[worst])) {
+                    worst = left;
+                }
+                if (right < size && before(heap[right], heap[worst])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(worst, index);
+                index = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = heap[a];
+            heap[a] = heap[b];
+            heap[b] = doc;
+        }
+    }
+}
@@ -1,15 +1,19 @@
 // src/main/java/com/myfinance/financetracker/service/BudgetService.java
 package com.myfinance.financetracker.service;
 
+import com.myfinance.financetracker.dto.BudgetSummary;
+import com.myfinance.financetracker.dto.CursorPage;
 import com.myfinance.financetracker.model.Budget;
 import java.util.List;
 import java.util.Optional;
 
 public interface BudgetService {
 
-    Optional<Budget> getBudgetById(Long id);
+    // withCategories - загрузить категории бюджета тем же запросом
+    Optional<Budget> getBudgetById(Long id, boolean withCategories);
 
-    List<Budget> getAllBudgets();
+    // Страница бюджетов по возрастанию id; withCategories - добавить категории вторым запросом на всю страницу
+    CursorPage<BudgetSummary> getAllBudgets(String cursor, int limit, boolean withCategories);
 
     // --- ИЗМЕНЕНИЕ: Добавляем параметр categoryIds ---
     /**
@@ -31,5 +35,7 @@ public interface BudgetService {
 
     void deleteBudget(Long id);
 
-    List<Budget> getBudgetsByLimitLessThanOrEqual(Double limit);
+    // Страница бюджетов с лимитом не больше limit; pageLimit - размер страницы
+    CursorPage<BudgetSummary> getBudgetsByLimitLessThanOrEqual(long limit, String cursor, int pageLimit,
+                                                               boolean withCategories);
 }
\ No newline at end of file
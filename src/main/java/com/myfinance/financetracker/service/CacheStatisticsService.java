@@ -0,0 +1,10 @@
+package com.myfinance.financetracker.service;
+
+import com.myfinance.financetracker.dto.CacheRegionStats;
+import java.util.List;
+
+public interface CacheStatisticsService {
+
+    // Регионы кэша второго уровня по имени
+    List<CacheRegionStats> getSecondLevelCacheStats();
+}
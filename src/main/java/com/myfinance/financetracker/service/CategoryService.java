@@ -1,13 +1,15 @@
 package com.myfinance.financetracker.service;
 
+import com.myfinance.financetracker.dto.CategorySummary;
+import com.myfinance.financetracker.dto.CursorPage;
 import com.myfinance.financetracker.model.Category;
-import java.util.List;
 import java.util.Optional;
 
 public interface CategoryService {
     Optional<Category> getCategoryById(Long id);
 
-    List<Category> getAllCategories();
+    // Страница категорий по возрастанию id
+    CursorPage<CategorySummary> getAllCategories(String cursor, int limit);
 
     Category createOrUpdateCategory(Category category);
 
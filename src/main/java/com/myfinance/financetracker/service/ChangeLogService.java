@@ -0,0 +1,19 @@
+package com.myfinance.financetracker.service;
+
+/**
+ * Журнал изменений в БД для сброса кэшей на всех экземплярах приложения. Изменения бюджетов,
+ * категорий и транзакций записываются в change_log в их же транзакции; каждый экземпляр
+ * периодически читает новые записи других экземпляров и публикует RemoteChangeEvent.
+ */
+public interface ChangeLogService {
+
+    /**
+     * Читает записи, появившиеся с прошлого вызова, и публикует чужие. Возвращает число опубликованных.
+     */
+    int poll();
+
+    /**
+     * Удаляет записи старше срока хранения. Возвращает число удалённых.
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,14 @@
+package com.myfinance.financetracker.service;
+
+import com.myfinance.financetracker.dto.MonthlySpendingSummary;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface MonthlySpendingService {
+
+    /**
+     * Помесячные траты пользователя за период [from, to], читаются только из сводок.
+     * Если budgetId указан - только по этому бюджету, иначе по всем бюджетам пользователя.
+     */
+    List<MonthlySpendingSummary> getMonthlySpending(Long userId, Long budgetId, YearMonth from, YearMonth to);
+}
@@ -0,0 +1,20 @@
+package com.myfinance.financetracker.service;
+
+/**
+ * ETag-и ресурсов для условных GET. Значения берутся из кэша, который сбрасывается после
+ * коммита изменений, поэтому проверка If-None-Match обычно не обращается к БД.
+ * Теги возвращаются в кавычках, как в заголовке ETag.
+ */
+public interface ResourceVersionService {
+
+    // null - бюджета нет; withCategories - тег представления вместе с категориями
+    String getBudgetTag(Long id, boolean withCategories);
+
+    // null - категории нет
+    String getCategoryTag(Long id);
+
+    // Теги списков меняются при любом изменении соответствующей таблицы
+    String getBudgetListTag();
+
+    String getCategoryListTag();
+}
@@ -0,0 +1,21 @@
+package com.myfinance.financetracker.service;
+
+import com.myfinance.financetracker.dto.AnalyticsSummary;
+import com.myfinance.financetracker.dto.BudgetTotal;
+import com.myfinance.financetracker.dto.PeriodTotal;
+import com.myfinance.financetracker.model.enums.AnalyticsPeriod;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Аналитика по транзакциям пользователя из колоночного кэша в памяти.
+ * Границы дат включительные; null - без ограничения.
+ */
+public interface TransactionAnalyticsService {
+
+    AnalyticsSummary getSummary(Long userId, LocalDate from, LocalDate to, Long budgetId);
+
+    List<BudgetTotal> getTotalsByBudget(Long userId, LocalDate from, LocalDate to);
+
+    List<PeriodTotal> getTotalsByPeriod(Long userId, LocalDate from, LocalDate to, AnalyticsPeriod period);
+}
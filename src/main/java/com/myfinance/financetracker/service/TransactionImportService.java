@@ -0,0 +1,21 @@
+package com.myfinance.financetracker.service;
+
+import com.myfinance.financetracker.model.ImportTask;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Фоновый импорт транзакций из CSV-выписки.
+ */
+public interface TransactionImportService {
+
+    /**
+     * Ставит файл в очередь на импорт. Файл читается построчно в отдельном потоке
+     * и сохраняется порциями фиксированного размера, каждая в своей транзакции БД.
+     *
+     * @param file CSV со столбцами date,amount,description[,budgetId]
+     * @return идентификатор задачи для запроса статуса
+     */
+    String startImport(MultipartFile file);
+
+    ImportTask getTaskStatus(String taskId);
+}
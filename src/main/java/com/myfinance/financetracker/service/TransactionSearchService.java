@@ -0,0 +1,17 @@
+package com.myfinance.financetracker.service;
+
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.SearchMode;
+import java.util.List;
+
+/**
+ * Поиск по описаниям транзакций пользователя через инвертированный индекс в памяти.
+ */
+public interface TransactionSearchService {
+
+    /**
+     * Транзакции пользователя, описание которых содержит запрос (без учёта регистра),
+     * от более поздних к более ранним.
+     */
+    List<Transaction> searchTransactions(Long userId, String query, SearchMode mode, int limit);
+}
@@ -1,6 +1,12 @@
 package com.myfinance.financetracker.service;
 
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.TransactionSummary;
 import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,13 +24,17 @@ public interface TransactionService {
     Optional<Transaction> getTransactionById(Long id);
 
     /**
-     * Получение транзакций в указанном диапазоне дат.
+     * Получение страницы транзакций в указанном диапазоне дат.
+     * Транзакции упорядочены по (date, id), следующая страница запрашивается по курсору.
      *
-     * @param startDate начало диапазона (в формате yyyy-MM-dd)
-     * @param endDate конец диапазона (в формате yyyy-MM-dd)
-     * @return список транзакций, удовлетворяющих критериям
+     * @param startDate начало диапазона, null - без ограничения
+     * @param endDate конец диапазона, null - без ограничения
+     * @param cursor курсор из предыдущей страницы или null для первой страницы
+     * @param limit максимальный размер страницы
+     * @return страница транзакций и курсор следующей страницы
      */
-    List<Transaction> getTransactionsByDateRange(String startDate, String endDate);
+    CursorPage<Transaction> getTransactionsByDateRange(LocalDate startDate, LocalDate endDate,
+                                                       String cursor, int limit);
 
     /**
      * Сохранение (или обновление) транзакции.
@@ -34,8 +44,36 @@ public interface TransactionService {
      */
     Transaction createOrUpdateTransaction(Transaction transaction);
 
+    /**
+     * Массовое сохранение транзакций в одной транзакции БД.
+     * Каждый бюджет загружается один раз, INSERT-ы уходят JDBC-батчами,
+     * а потраченная сумма каждого бюджета обновляется одним UPDATE.
+     *
+     * @param transactions транзакции для сохранения
+     * @return сохранённые транзакции в исходном порядке
+     */
+    List<Transaction> createTransactionsBulk(List<Transaction> transactions);
+
     void deleteTransaction(Long id);
 
-    List<Transaction> getTransactionsByUserAndDateRange(Long userId,
-                                                        String startDate, String endDate);
-}
\ No newline at end of file
+    /**
+     * Транзакции пользователя за диапазон дат в виде неизменяемых записей; результат кэшируется
+     * и может быть общим для нескольких вызывающих.
+     */
+    List<TransactionSummary> getTransactionsByUserAndDateRange(Long userId,
+                                                               LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Потоковая выгрузка транзакций в диапазоне дат.
+     * Строки пишутся в поток по мере чтения из БД, поэтому расход памяти
+     * не зависит от количества выгружаемых транзакций.
+     *
+     * @param startDate начало диапазона, null - без ограничения
+     * @param endDate конец диапазона, null - без ограничения
+     * @param format формат выгрузки
+     * @param out поток, в который пишется результат
+     * @throws IOException при ошибке записи в поток
+     */
+    void exportTransactions(LocalDate startDate, LocalDate endDate,
+                            ExportFormat format, OutputStream out) throws IOException;
+}
@@ -1,18 +1,26 @@
 package com.myfinance.financetracker.service;
 
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.UserAmountMatch;
+import com.myfinance.financetracker.dto.UserStats;
+import com.myfinance.financetracker.dto.UserSummary;
 import com.myfinance.financetracker.model.User;
-import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
     Optional<User> getUserById(Long id);
 
-    List<User> getAllUsers();
+    // Страница пользователей по возрастанию id
+    CursorPage<UserSummary> getAllUsers(String cursor, int limit);
 
     User createOrUpdateUser(User user);
 
     void deleteUser(Long id);
 
-    // Новый метод для поиска пользователей по amount транзакции
-    List<User> getUsersByTransactionAmount(Double amount);
+    // Пользователи с транзакциями в диапазоне сумм (в минорных единицах, границы включительно)
+    CursorPage<UserAmountMatch> getUsersByTransactionAmountRange(long minAmount, long maxAmount,
+                                                                 String cursor, int limit);
+
+    // Пользователи со сводкой по транзакциям, по возрастанию id
+    CursorPage<UserStats> getUserStats(String cursor, int limit);
 }
\ No newline at end of file
@@ -1,10 +1,28 @@
 package com.myfinance.financetracker.service;
 
 
+import com.myfinance.financetracker.dto.PathHits;
+import java.util.List;
 import java.util.Map;
 
 public interface VisitCounterService {
     void incrementVisitCount(String url);
     long getVisitCount(String url);
     Map<String, Long> getAllVisits();
+
+    /**
+     * Счётчики URL с данным префиксом (null - все) по убыванию, не больше top (null - без ограничения).
+     * Строится из снимка, который пересобирается не чаще finance.visits.snapshot-ttl.
+     */
+    Map<String, Long> getVisits(String prefix, Integer top);
+
+    /**
+     * Учитывает запрос к конкретному пути (с id) в скетче фиксированного размера.
+     */
+    void recordRawPath(String path);
+
+    /**
+     * Не больше k самых частых путей с оценкой погрешности, по убыванию.
+     */
+    List<PathHits> getTopRawPaths(int k);
 }
\ No newline at end of file
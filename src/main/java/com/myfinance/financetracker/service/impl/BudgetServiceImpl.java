@@ -1,16 +1,31 @@
 // src/main/java/com/myfinance/financetracker/service/impl/BudgetServiceImpl.java
 package com.myfinance.financetracker.service.impl;
 
+import com.myfinance.financetracker.dto.BudgetCategory;
+import com.myfinance.financetracker.dto.BudgetSummary;
+import com.myfinance.financetracker.dto.CategorySummary;
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.IdCursor;
 import com.myfinance.financetracker.model.Budget;
 import com.myfinance.financetracker.model.Category;
 import com.myfinance.financetracker.repository.BudgetRepository;
 import com.myfinance.financetracker.repository.CategoryRepository;
+import com.myfinance.financetracker.repository.MonthlySpendingRepository;
 import com.myfinance.financetracker.service.BudgetService;
 import jakarta.transaction.Transactional; // Добавляем Transactional
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import com.myfinance.financetracker.event.BudgetChangedEvent;
+import com.myfinance.financetracker.event.TransactionsPurgedEvent;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import com.myfinance.financetracker.exception.ResourceNotFoundException; // Добавляем
 
@@ -18,32 +33,31 @@ import com.myfinance.financetracker.exception.ResourceNotFoundException; // До
 public class BudgetServiceImpl implements BudgetService {
     private final BudgetRepository budgetRepository;
     private final CategoryRepository categoryRepository;
+    private final MonthlySpendingRepository monthlySpendingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public BudgetServiceImpl(BudgetRepository budgetRepository,
-                             CategoryRepository categoryRepository) {
+                             CategoryRepository categoryRepository,
+                             MonthlySpendingRepository monthlySpendingRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.budgetRepository = budgetRepository;
         this.categoryRepository = categoryRepository;
+        this.monthlySpendingRepository = monthlySpendingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    public Optional<Budget> getBudgetById(Long id) {
-        // Используем fetch для загрузки категорий сразу (если нужно)
-        // return budgetRepository.findById(id); // Старый вариант
-         return budgetRepository.findById(id).map(budget -> {
-             // Инициализация ленивой коллекции категорий, если они нужны в ответе
-             // Hibernate.initialize(budget.getCategories()); // <-- Раскомментируй, если используешь Hibernate и хочешь вернуть категории в GET /api/budgets/{id}
-             return budget;
-         });
+    public Optional<Budget> getBudgetById(Long id, boolean withCategories) {
+        // Без категорий ленивая коллекция остаётся незагруженной и в ответ не попадает
+        return withCategories ? budgetRepository.findWithCategoriesById(id) : budgetRepository.findById(id);
     }
 
     @Override
-    public List<Budget> getAllBudgets() {
-        // return budgetRepository.findAll(); // Старый вариант
-         // Загружаем бюджеты и инициализируем их категории, чтобы избежать N+1 запросов при доступе к категориям позже
-         List<Budget> budgets = budgetRepository.findAll();
-         // budgets.forEach(budget -> Hibernate.initialize(budget.getCategories())); // <-- Раскомментируй, если используешь Hibernate и хочешь вернуть категории в GET /api/budgets
-         return budgets;
+    public CursorPage<BudgetSummary> getAllBudgets(String cursor, int limit, boolean withCategories) {
+        int pageSize = CursorPage.pageSize(limit);
+        List<BudgetSummary> rows = budgetRepository.findSummariesAfter(IdCursor.afterId(cursor), Limit.of(pageSize + 1));
+        return toPage(rows, pageSize, withCategories);
     }
 
     // --- НОВАЯ РЕАЛИЗАЦИЯ createOrUpdateBudget с categoryIds ---
@@ -53,8 +67,14 @@ public class BudgetServiceImpl implements BudgetService {
         Budget budgetToSave;
         if (budgetDetails.getId() != null) {
             // --- Обновление ---
+            // Категории бюджета - из кэша второго уровня, если они там есть
             budgetToSave = budgetRepository.findById(budgetDetails.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id " + budgetDetails.getId()));
+            Hibernate.initialize(budgetToSave.getCategories());
+            // Клиент прислал версию, с которой редактировал: если бюджет с тех пор изменился - конфликт
+            if (budgetDetails.getVersion() != null && !budgetDetails.getVersion().equals(budgetToSave.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Budget.class, budgetDetails.getId());
+            }
             // Обновляем поля из budgetDetails
             budgetToSave.setName(budgetDetails.getName());
             budgetToSave.setLimitAmount(budgetDetails.getLimitAmount());
@@ -62,17 +82,16 @@ public class BudgetServiceImpl implements BudgetService {
         } else {
             // --- Создание ---
             budgetToSave = budgetDetails; // Используем переданный объект
-            // Устанавливаем spent в 0 для нового бюджета, если не был установлен
-            if (budgetToSave.getSpent() == null) {
-                budgetToSave.setSpent(0.0);
-            }
+            budgetToSave.setVersion(null); // Версию назначает Hibernate
+            // Новый бюджет начинается с нулевых трат, значение из запроса игнорируется
+            budgetToSave.setSpent(0L);
         }
 
         // --- Обновление категорий ---
         if (categoryIds != null) { // Обновляем категории, только если categoryIds передан (не null)
             if (!categoryIds.isEmpty()) {
                 // Находим существующие категории по ID
-                List<Category> categories = categoryRepository.findAllById(categoryIds);
+                List<Category> categories = categoryRepository.loadAllById(categoryIds);
                 // Проверяем, все ли ID найдены (опционально, но полезно)
                 if(categories.size() != categoryIds.size()){
                      // Можно выбросить исключение или просто проигнорировать ненайденные ID
@@ -88,7 +107,9 @@ public class BudgetServiceImpl implements BudgetService {
         }
         // Если categoryIds == null, список категорий у budgetToSave НЕ изменяется
 
-        return budgetRepository.save(budgetToSave);
+        Budget saved = budgetRepository.save(budgetToSave);
+        eventPublisher.publishEvent(new BudgetChangedEvent(saved.getId()));
+        return saved;
     }
 
     // --- Старый метод createOrUpdateBudget (можно удалить или оставить как @Deprecated) ---
@@ -111,14 +132,43 @@ public class BudgetServiceImpl implements BudgetService {
     public void deleteBudget(Long id) {
         // Можно добавить логику отвязывания категорий перед удалением, если нужно
         if (budgetRepository.existsById(id)) {
+            // Транзакции бюджета удаляются каскадно, поэтому убираем и их сводки
+            monthlySpendingRepository.deleteByBudgetId(id);
             budgetRepository.deleteById(id);
+            eventPublisher.publishEvent(TransactionsPurgedEvent.forBudget(id));
         } else {
              throw new ResourceNotFoundException("Budget not found with id " + id);
         }
     }
 
     @Override
-    public List<Budget> getBudgetsByLimitLessThanOrEqual(Double limit) {
-        return budgetRepository.findBudgetsByLimitLessThanOrEqual(limit);
+    public CursorPage<BudgetSummary> getBudgetsByLimitLessThanOrEqual(long limit, String cursor, int pageLimit,
+                                                                      boolean withCategories) {
+        int pageSize = CursorPage.pageSize(pageLimit);
+        List<BudgetSummary> rows = budgetRepository.findSummariesByLimitLessThanOrEqual(
+            limit, IdCursor.afterId(cursor), Limit.of(pageSize + 1));
+        return toPage(rows, pageSize, withCategories);
+    }
+
+    private CursorPage<BudgetSummary> toPage(List<BudgetSummary> rows, int pageSize, boolean withCategories) {
+        CursorPage<BudgetSummary> page = CursorPage.of(rows, pageSize, budget -> IdCursor.encode(budget.id()));
+        if (!withCategories || page.items().isEmpty()) {
+            return page;
+        }
+        List<Long> budgetIds = page.items().stream().map(BudgetSummary::id).toList();
+        List<BudgetCategory> links = budgetRepository.findCategoryLinksByBudgetIds(budgetIds);
+        return new CursorPage<>(attachCategories(page.items(), links), page.nextCursor());
+    }
+
+    // Раскладывает связи по бюджетам в памяти вместо запроса категорий на каждый бюджет
+    private static List<BudgetSummary> attachCategories(List<BudgetSummary> budgets, List<BudgetCategory> links) {
+        Map<Long, List<CategorySummary>> categoriesByBudget = new HashMap<>();
+        for (BudgetCategory link : links) {
+            categoriesByBudget.computeIfAbsent(link.budgetId(), id -> new ArrayList<>())
+                .add(new CategorySummary(link.categoryId(), link.categoryName()));
+        }
+        return budgets.stream()
+            .map(budget -> budget.withCategories(categoriesByBudget.getOrDefault(budget.id(), List.of())))
+            .toList();
     }
 }
\ No newline at end of file
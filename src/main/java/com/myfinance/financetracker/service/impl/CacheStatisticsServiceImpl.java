@@ -0,0 +1,37 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.CacheRegionStats;
+import com.myfinance.financetracker.service.CacheStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        // Счётчики собираются, только если включено hibernate.generate_statistics
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public List<CacheRegionStats> getSecondLevelCacheStats() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+            .sorted()
+            .map(region -> toStats(region, statistics.getDomainDataRegionStatistics(region)))
+            .toList();
+    }
+
+    private static CacheRegionStats toStats(String region, CacheRegionStatistics regionStatistics) {
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new CacheRegionStats(region, hits, misses, regionStatistics.getPutCount(), hitRatio);
+    }
+}
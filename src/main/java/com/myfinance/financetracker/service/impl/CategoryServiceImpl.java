@@ -1,21 +1,30 @@
 package com.myfinance.financetracker.service.impl;
 
+import com.myfinance.financetracker.dto.CategorySummary;
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.IdCursor;
+import com.myfinance.financetracker.event.CategoryChangedEvent;
 import com.myfinance.financetracker.model.Category;
 import com.myfinance.financetracker.repository.CategoryRepository;
 import com.myfinance.financetracker.service.CategoryService;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -24,17 +33,28 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+    public CursorPage<CategorySummary> getAllCategories(String cursor, int limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        List<CategorySummary> rows =
+            categoryRepository.findSummariesAfter(IdCursor.afterId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, category -> IdCursor.encode(category.id()));
     }
 
     @Override
+    @Transactional // Запись в change_log коммитится вместе с категорией
     public Category createOrUpdateCategory(Category category) {
-        return categoryRepository.save(category);
+        if (category.getId() == null) {
+            category.setVersion(null); // Версию назначает Hibernate
+        }
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.event.BudgetChangedEvent;
+import com.myfinance.financetracker.event.CategoryChangedEvent;
+import com.myfinance.financetracker.event.RemoteChangeEvent;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
+import com.myfinance.financetracker.event.TransactionsPurgedEvent;
+import com.myfinance.financetracker.model.ChangeLogEntry;
+import com.myfinance.financetracker.model.enums.ChangeType;
+import com.myfinance.financetracker.repository.ChangeLogRepository;
+import com.myfinance.financetracker.service.ChangeLogService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Записи журнала добавляются слушателями событий сервисов перед коммитом, поэтому попадают в БД
+ * вместе с изменением или не попадают вовсе.
+ *
+ * <p>Экземпляр помнит наибольший прочитанный id. Id выдаются при вставке, а видны после коммита,
+ * поэтому запись с меньшим id может появиться позже большей: пропущенные id запоминаются и
+ * перечитываются, пока не найдутся или не пройдёт gap-timeout (транзакция откатилась).
+ */
+@Service
+public class ChangeLogServiceImpl implements ChangeLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogServiceImpl.class);
+
+    private static final int MAX_TRACKED_GAP = 10_000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Duration retention;
+
+    private final String origin = UUID.randomUUID().toString();
+    // Состояние чтения меняется только внутри poll()
+    private long highWaterMark = -1;
+    private final Map<Long, Instant> gaps = new LinkedHashMap<>();
+
+    public ChangeLogServiceImpl(ChangeLogRepository changeLogRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${finance.change-log.batch-size:1000}") int batchSize,
+                                @Value("${finance.change-log.gap-timeout:PT1M}") Duration gapTimeout,
+                                @Value("${finance.change-log.retention:PT1H}") Duration retention) {
+        this.changeLogRepository = changeLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${finance.change-log.poll-interval:PT1S}",
+        initialDelayString = "${finance.change-log.poll-interval:PT1S}")
+    public synchronized int poll() {
+        if (highWaterMark < 0) {
+            // Кэши только что запущенного экземпляра пусты: старые записи ему не нужны
+            highWaterMark = changeLogRepository.findMaxId();
+            return 0;
+        }
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            entries.addAll(changeLogRepository.findAllById(List.copyOf(gaps.keySet())));
+            entries.forEach(entry -> gaps.remove(entry.getId()));
+        }
+        Instant now = Instant.now();
+        List<ChangeLogEntry> fresh = changeLogRepository.findByIdGreaterThanOrderById(highWaterMark, Limit.of(batchSize));
+        for (ChangeLogEntry entry : fresh) {
+            // Большой разрыв - не незакоммиченные вставки, а, например, сдвиг последовательности
+            if (entry.getId() - highWaterMark <= MAX_TRACKED_GAP) {
+                for (long missing = highWaterMark + 1; missing < entry.getId(); missing++) {
+                    gaps.put(missing, now);
+                }
+            }
+            highWaterMark = entry.getId();
+        }
+        entries.addAll(fresh);
+        gaps.values().removeIf(seen -> seen.plus(gapTimeout).isBefore(now));
+
+        int published = 0;
+        entries.sort(Comparator.comparing(ChangeLogEntry::getId));
+        for (ChangeLogEntry entry : entries) {
+            // Свои изменения уже применены локальными слушателями после коммита
+            if (!origin.equals(entry.getOrigin())) {
+                eventPublisher.publishEvent(new RemoteChangeEvent(entry.getChangeType(), entry.getEntityId()));
+                published++;
+            }
+        }
+        if (published > 0) {
+            logger.debug("Applied {} remote changes, change log position {}", published, highWaterMark);
+        }
+        return published;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${finance.change-log.purge-interval:PT10M}",
+        initialDelayString = "${finance.change-log.purge-interval:PT10M}")
+    public int purgeExpired() {
+        // Все экземпляры чистят журнал независимо; повторное удаление ничего не ломает
+        return changeLogRepository.deleteCreatedBefore(Instant.now().minus(retention));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        write(Stream.of(entry(ChangeType.BUDGET, event.budgetId())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        write(Stream.of(entry(ChangeType.CATEGORY, event.categoryId())));
+    }
+
+    // По записи на пользователя и на бюджет, чей spent изменился, а не на каждую транзакцию
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        List<TransactionSnapshot> snapshots = Stream.concat(event.removed().stream(), event.saved().stream()).toList();
+        Stream<ChangeLogEntry> users = snapshots.stream().map(TransactionSnapshot::userId)
+            .filter(Objects::nonNull).distinct().map(userId -> entry(ChangeType.USER_TRANSACTIONS, userId));
+        Stream<ChangeLogEntry> budgets = snapshots.stream().map(TransactionSnapshot::budgetId)
+            .filter(Objects::nonNull).distinct().map(budgetId -> entry(ChangeType.BUDGET_SPENT, budgetId));
+        write(Stream.concat(users, budgets));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTransactionsPurged(TransactionsPurgedEvent event) {
+        write(event.userId() != null
+            ? Stream.of(entry(ChangeType.USER_TRANSACTIONS, event.userId()))
+            : Stream.of(entry(ChangeType.BUDGET_TRANSACTIONS, event.budgetId())));
+    }
+
+    private ChangeLogEntry entry(ChangeType type, Long entityId) {
+        return new ChangeLogEntry(type, entityId, origin, Instant.now());
+    }
+
+    private void write(Stream<ChangeLogEntry> entries) {
+        List<ChangeLogEntry> rows = entries.filter(entry -> entry.getEntityId() != null).toList();
+        if (!rows.isEmpty()) {
+            changeLogRepository.saveAll(rows);
+        }
+    }
+}
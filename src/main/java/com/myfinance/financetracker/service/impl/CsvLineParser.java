@@ -0,0 +1,47 @@
+package com.myfinance.financetracker.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разбор одной строки CSV: поля через запятую, кавычки по RFC 4180
+ * (запятые внутри кавычек, удвоенная кавычка как экранирование).
+ */
+final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,43 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.model.MonthlySpendingId;
+import com.myfinance.financetracker.repository.MonthlySpendingRepository;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Накопитель изменений месячных сводок в рамках одной операции: по одному UPSERT на затронутую строку.
+ * Счётчик - long[] {сумма, количество}, чтобы складывать без упаковки.
+ */
+final class MonthlySpendingDeltas {
+
+    private final Map<MonthlySpendingId, long[]> deltas = new HashMap<>();
+
+    void add(TransactionSnapshot snapshot) {
+        add(snapshot.userId(), snapshot.budgetId(), snapshot.date(), snapshot.amount(), 1);
+    }
+
+    void remove(TransactionSnapshot snapshot) {
+        add(snapshot.userId(), snapshot.budgetId(), snapshot.date(), -snapshot.amount(), -1);
+    }
+
+    private void add(Long userId, Long budgetId, LocalDate date, long amount, int count) {
+        if (date == null) {
+            return; // без даты транзакцию не к чему отнести
+        }
+        long[] delta = deltas.computeIfAbsent(new MonthlySpendingId(userId, budgetId, date), id -> new long[2]);
+        delta[0] += amount;
+        delta[1] += count;
+    }
+
+    void applyTo(MonthlySpendingRepository repository) {
+        deltas.forEach((id, delta) -> {
+            // Изменение суммы внутри того же месяца и бюджета может свестись к нулю
+            if (delta[0] != 0 || delta[1] != 0) {
+                repository.addToMonth(id.getUserId(), id.getBudgetId(), id.getYearMonth(), delta[0], delta[1]);
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.MonthlySpendingSummary;
+import com.myfinance.financetracker.exception.ValidationException;
+import com.myfinance.financetracker.model.MonthlySpendingId;
+import com.myfinance.financetracker.repository.MonthlySpendingRepository;
+import com.myfinance.financetracker.service.MonthlySpendingService;
+import java.time.YearMonth;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MonthlySpendingServiceImpl implements MonthlySpendingService {
+
+    private final MonthlySpendingRepository monthlySpendingRepository;
+
+    @Autowired
+    public MonthlySpendingServiceImpl(MonthlySpendingRepository monthlySpendingRepository) {
+        this.monthlySpendingRepository = monthlySpendingRepository;
+    }
+
+    @Override
+    public List<MonthlySpendingSummary> getMonthlySpending(Long userId, Long budgetId, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+        int fromMonth = MonthlySpendingId.toKey(from);
+        int toMonth = MonthlySpendingId.toKey(to);
+        if (budgetId == null) {
+            return monthlySpendingRepository.sumByUser(userId, fromMonth, toMonth);
+        }
+        return monthlySpendingRepository.findByUserAndBudget(userId, budgetId, fromMonth, toMonth);
+    }
+}
@@ -0,0 +1,140 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfinance.financetracker.dto.BudgetVersion;
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.event.BudgetChangedEvent;
+import com.myfinance.financetracker.event.CategoryChangedEvent;
+import com.myfinance.financetracker.event.RemoteChangeEvent;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
+import com.myfinance.financetracker.event.TransactionsPurgedEvent;
+import com.myfinance.financetracker.repository.BudgetRepository;
+import com.myfinance.financetracker.repository.CategoryRepository;
+import com.myfinance.financetracker.service.ResourceVersionService;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Теги отдельных бюджетов и категорий строятся по их версиям в БД и кэшируются до изменения.
+ * Теги списков - счётчики изменений таблиц в памяти этого экземпляра; к ним добавляется метка
+ * запуска, чтобы после перезапуска счётчик, начавшийся заново, не совпал со старым тегом.
+ *
+ * <p>Кэш сбрасывается после коммита. Caffeine выполняет invalidate только после загрузки
+ * того же ключа, если она идёт, поэтому значение, прочитанное до коммита, в кэше не остаётся.
+ */
+@Service
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    private final BudgetRepository budgetRepository;
+    private final CategoryRepository categoryRepository;
+    private final Cache<Long, BudgetVersion> budgetVersions;
+    private final Cache<Long, Long> categoryVersions;
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong budgetChanges = new AtomicLong();
+    private final AtomicLong categoryChanges = new AtomicLong();
+
+    public ResourceVersionServiceImpl(BudgetRepository budgetRepository,
+                                      CategoryRepository categoryRepository,
+                                      @Value("${finance.etag.cache-size:100000}") long cacheSize,
+                                      @Value("${finance.etag.cache-ttl:PT10M}") Duration cacheTtl) {
+        this.budgetRepository = budgetRepository;
+        this.categoryRepository = categoryRepository;
+        // Срок жизни - страховка на случай изменений в обход сервисов
+        this.budgetVersions = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(cacheTtl).build();
+        this.categoryVersions = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(cacheTtl).build();
+    }
+
+    @Override
+    public String getBudgetTag(Long id, boolean withCategories) {
+        // Отсутствующий бюджет не кэшируется: загрузчик вернул null
+        BudgetVersion version = budgetVersions.get(id, key -> budgetRepository.findVersionById(key).orElse(null));
+        if (version == null) {
+            return null;
+        }
+        String tag = "b" + version.version() + "." + version.spent();
+        // Названия категорий бюджета меняются без изменения его версии
+        return quote(withCategories ? tag + "-c" + instance + "." + categoryChanges.get() : tag);
+    }
+
+    @Override
+    public String getCategoryTag(Long id) {
+        Long version = categoryVersions.get(id, key -> categoryRepository.findVersionById(key).orElse(null));
+        return version == null ? null : quote("c" + version);
+    }
+
+    @Override
+    public String getBudgetListTag() {
+        // Списки бюджетов с include=categories зависят и от категорий
+        return quote("bl" + instance + "." + budgetChanges.get() + "." + categoryChanges.get());
+    }
+
+    @Override
+    public String getCategoryListTag() {
+        return quote("cl" + instance + "." + categoryChanges.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        budgetChanges.incrementAndGet();
+        budgetVersions.invalidate(event.budgetId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryChanges.incrementAndGet();
+        categoryVersions.invalidate(event.categoryId());
+    }
+
+    // Транзакции меняют spent своих бюджетов
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Stream.concat(event.removed().stream(), event.saved().stream())
+            .map(TransactionSnapshot::budgetId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .forEach(budgetId -> {
+                budgetChanges.incrementAndGet();
+                budgetVersions.invalidate(budgetId);
+            });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsPurged(TransactionsPurgedEvent event) {
+        // Событие по бюджету означает его удаление; удаление пользователя spent не меняет
+        if (event.budgetId() != null) {
+            budgetChanges.incrementAndGet();
+            budgetVersions.invalidate(event.budgetId());
+        }
+    }
+
+    // Изменения других экземпляров (change_log): счётчики списков сдвигаются и здесь,
+    // иначе клиент, переключившийся на этот экземпляр, получил бы 304 на устаревший список
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        switch (event.type()) {
+            case BUDGET, BUDGET_SPENT, BUDGET_TRANSACTIONS -> {
+                budgetChanges.incrementAndGet();
+                budgetVersions.invalidate(event.entityId());
+            }
+            case CATEGORY -> {
+                categoryChanges.incrementAndGet();
+                categoryVersions.invalidate(event.entityId());
+            }
+            case USER_TRANSACTIONS -> {
+                // spent бюджетов приходит отдельными записями BUDGET_SPENT
+            }
+        }
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
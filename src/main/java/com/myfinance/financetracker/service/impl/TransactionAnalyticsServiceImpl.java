@@ -0,0 +1,136 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfinance.financetracker.analytics.UserTransactionColumns;
+import com.myfinance.financetracker.dto.AnalyticsSummary;
+import com.myfinance.financetracker.dto.BudgetTotal;
+import com.myfinance.financetracker.dto.PeriodTotal;
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.event.RemoteChangeEvent;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
+import com.myfinance.financetracker.event.TransactionsPurgedEvent;
+import com.myfinance.financetracker.exception.ValidationException;
+import com.myfinance.financetracker.model.enums.AnalyticsPeriod;
+import com.myfinance.financetracker.repository.TransactionRepository;
+import com.myfinance.financetracker.service.TransactionAnalyticsService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class TransactionAnalyticsServiceImpl implements TransactionAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionAnalyticsServiceImpl.class);
+
+    // Ограничение на число периодов в одном ответе
+    private static final long MAX_PERIODS = 10_000;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    // Вес записи - число транзакций пользователя; вытесняются давно не использованные пользователи
+    private final Cache<Long, UserTransactionColumns> columnsByUser;
+
+    public TransactionAnalyticsServiceImpl(TransactionRepository transactionRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${finance.analytics.max-rows:2000000}") long maxRows) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.columnsByUser = Caffeine.newBuilder()
+            .maximumWeight(maxRows)
+            .weigher((Long userId, UserTransactionColumns columns) -> Math.max(1, columns.size()))
+            .build();
+    }
+
+    @Override
+    public AnalyticsSummary getSummary(Long userId, LocalDate from, LocalDate to, Long budgetId) {
+        return columns(userId).summarize(from, to, budgetId);
+    }
+
+    @Override
+    public List<BudgetTotal> getTotalsByBudget(Long userId, LocalDate from, LocalDate to) {
+        return columns(userId).totalsByBudget(from, to);
+    }
+
+    @Override
+    public List<PeriodTotal> getTotalsByPeriod(Long userId, LocalDate from, LocalDate to, AnalyticsPeriod period) {
+        if (from != null && to != null && period.count(from, to) > MAX_PERIODS) {
+            throw new ValidationException("Too many periods requested, use a larger period or a shorter range");
+        }
+        return columns(userId).totalsByPeriod(from, to, period);
+    }
+
+    // Изменения применяются только после коммита, откаченные записи в кэш не попадают.
+    // computeIfPresent ждёт загрузку того же пользователя, если она идёт, а идемпотентные
+    // изменения безопасно накладываются на уже загруженные из БД данные
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        for (TransactionSnapshot removed : event.removed()) {
+            if (removed.userId() != null && removed.date() != null) {
+                columnsByUser.asMap().computeIfPresent(removed.userId(), (userId, columns) -> {
+                    columns.remove(removed.id(), removed.date());
+                    return columns;
+                });
+            }
+        }
+        for (TransactionSnapshot saved : event.saved()) {
+            if (saved.userId() != null && saved.date() != null) {
+                columnsByUser.asMap().computeIfPresent(saved.userId(), (userId, columns) -> {
+                    columns.upsert(saved.id(), saved.date(), saved.amount(), saved.budgetId());
+                    return columns;
+                });
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsPurged(TransactionsPurgedEvent event) {
+        if (event.userId() != null) {
+            columnsByUser.invalidate(event.userId());
+        }
+        if (event.budgetId() != null) {
+            columnsByUser.asMap().values().removeIf(columns -> columns.containsBudget(event.budgetId()));
+        }
+    }
+
+    // Изменения других экземпляров приходят без данных: колонки пользователя загружаются заново
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        switch (event.type()) {
+            case USER_TRANSACTIONS -> columnsByUser.invalidate(event.entityId());
+            case BUDGET_TRANSACTIONS ->
+                columnsByUser.asMap().values().removeIf(columns -> columns.containsBudget(event.entityId()));
+            default -> {
+                // Изменения бюджетов и категорий колонки не затрагивают
+            }
+        }
+    }
+
+    private UserTransactionColumns columns(Long userId) {
+        return columnsByUser.get(userId, this::load);
+    }
+
+    private UserTransactionColumns load(Long userId) {
+        long started = System.nanoTime();
+        UserTransactionColumns columns = readOnlyTransaction.execute(status -> {
+            UserTransactionColumns loaded = new UserTransactionColumns();
+            try (Stream<TransactionSnapshot> rows = transactionRepository.streamSnapshotsByUser(userId)) {
+                // Строки приходят в порядке (date, id) и дописываются в конец колонок
+                rows.forEach(row -> loaded.append(row.id(), row.date(), row.amount(), row.budgetId()));
+            }
+            return loaded;
+        });
+        logger.debug("Loaded {} transactions of user {} into analytics cache in {} ms",
+            columns.size(), userId, (System.nanoTime() - started) / 1_000_000);
+        return columns;
+    }
+}
@@ -0,0 +1,114 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.ExportFormat;
+import com.myfinance.financetracker.money.MinorUnits;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Построчная запись транзакций в NDJSON или CSV.
+ * Ничего не накапливает: каждая строка сразу уходит в буфер выходного потока.
+ */
+class TransactionExportWriter implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String CSV_HEADER = "id,date,amount,description,budgetId,userId";
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    TransactionExportWriter(ExportFormat format, OutputStream out) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.NDJSON) {
+            this.json = JSON_FACTORY.createGenerator(writer);
+            // Поток закрывает сервлет-контейнер, а не генератор
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } else {
+            this.json = null;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    void write(Transaction transaction) throws IOException {
+        // getId() у ленивого прокси не инициализирует связанную сущность
+        Long budgetId = transaction.getBudget() != null ? transaction.getBudget().getId() : null;
+        Long userId = transaction.getUser() != null ? transaction.getUser().getId() : null;
+        if (format == ExportFormat.NDJSON) {
+            writeJson(transaction, budgetId, userId);
+        } else {
+            writeCsv(transaction, budgetId, userId);
+        }
+    }
+
+    private void writeJson(Transaction transaction, Long budgetId, Long userId) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", transaction.getId());
+        json.writeStringField("date", String.valueOf(transaction.getDate()));
+        json.writeNumberField("amount", MinorUnits.toDecimal(transaction.getAmount()));
+        json.writeStringField("description", transaction.getDescription());
+        writeNullableNumber("budgetId", budgetId);
+        writeNullableNumber("userId", userId);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeNullableNumber(String field, Long value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private void writeCsv(Transaction transaction, Long budgetId, Long userId) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getDate()));
+        writer.write(',');
+        writer.write(MinorUnits.toDecimal(transaction.getAmount()).toPlainString());
+        writer.write(',');
+        writer.write(csvEscape(transaction.getDescription()));
+        writer.write(',');
+        writer.write(budgetId != null ? budgetId.toString() : "");
+        writer.write(',');
+        writer.write(userId != null ? userId.toString() : "");
+        writer.write('\n');
+    }
+
+    static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        }
+        writer.flush();
+    }
+}
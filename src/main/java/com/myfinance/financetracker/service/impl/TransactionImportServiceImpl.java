@@ -0,0 +1,293 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.exception.ResourceNotFoundException;
+import com.myfinance.financetracker.exception.ServiceBusyException;
+import com.myfinance.financetracker.exception.ValidationException;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.ImportTask;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.money.MinorUnits;
+import com.myfinance.financetracker.repository.BudgetRepository;
+import com.myfinance.financetracker.service.TransactionImportService;
+import com.myfinance.financetracker.service.TransactionService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportServiceImpl.class);
+
+    // Длина колонки description, которую Hibernate создаёт по умолчанию
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private final Map<String, ImportTask> tasks = new ConcurrentHashMap<>();
+    private final TransactionService transactionService;
+    private final BudgetRepository budgetRepository;
+    private final TaskExecutor importExecutor;
+    private final int chunkSize;
+    private final Duration taskRetention;
+
+    // Собственный ограниченный пул: длинные импорты не занимают потоки запросов
+    // и общий @Async-пул. Не регистрируется как бин, чтобы Spring Boot сохранил
+    // свой applicationTaskExecutor для асинхронных ответов MVC
+    @Autowired
+    public TransactionImportServiceImpl(TransactionService transactionService,
+                                        BudgetRepository budgetRepository,
+                                        @Value("${finance.import.threads:2}") int threads,
+                                        @Value("${finance.import.queue-capacity:10}") int queueCapacity,
+                                        @Value("${finance.import.chunk-size:1000}") int chunkSize,
+                                        @Value("${finance.import.task-retention:PT24H}") Duration taskRetention) {
+        this(transactionService, budgetRepository, createExecutor(threads, queueCapacity), chunkSize, taskRetention);
+    }
+
+    TransactionImportServiceImpl(TransactionService transactionService, BudgetRepository budgetRepository,
+                                 TaskExecutor importExecutor, int chunkSize, Duration taskRetention) {
+        this.transactionService = transactionService;
+        this.budgetRepository = budgetRepository;
+        this.importExecutor = importExecutor;
+        this.chunkSize = chunkSize;
+        this.taskRetention = taskRetention;
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("Import-");
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (importExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public String startImport(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new ValidationException("Import file is empty");
+        }
+
+        // Временный файл multipart удаляется по завершении запроса, поэтому забираем его себе
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("transactions-import-", ".csv");
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not store import file", e);
+        }
+
+        String taskId = UUID.randomUUID().toString();
+        ImportTask task = new ImportTask(taskId, "PENDING", file.getOriginalFilename(), LocalDateTime.now());
+        tasks.put(taskId, task);
+
+        try {
+            importExecutor.execute(() -> processImport(task, tempFile));
+        } catch (TaskRejectedException e) {
+            tasks.remove(taskId);
+            deleteQuietly(tempFile);
+            throw new ServiceBusyException("Too many imports in progress, try again later");
+        }
+        return taskId;
+    }
+
+    void processImport(ImportTask task, Path file) {
+        logger.info("Начало импорта {} ({})", task.getId(), task.getFileName());
+        task.setStatus("PROCESSING");
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+                try {
+                    chunk.add(new ImportRow(lineNumber, parseTransaction(line)));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    task.addSkippedRow();
+                    task.setErrorMessage("Line " + lineNumber + ": " + e.getMessage());
+                    continue;
+                }
+                if (chunk.size() >= chunkSize) {
+                    commitChunk(task, chunk);
+                }
+            }
+            commitChunk(task, chunk);
+            task.setStatus("COMPLETED");
+            logger.info("Импорт {} завершён: {} строк сохранено, {} пропущено",
+                task.getId(), task.getImportedRows(), task.getSkippedRows());
+        } catch (Exception e) {
+            task.setStatus("FAILED: " + e.getClass().getSimpleName());
+            // Порции сохраняются по порядку: всё до этой строки уже в БД (кроме пропущенных строк)
+            task.setErrorMessage(chunk.isEmpty() ? e.getMessage()
+                : "Stopped at line " + chunk.get(0).lineNumber() + ": " + e.getMessage());
+            logger.error("Импорт {} прерван: {}", task.getId(), e.getMessage());
+        } finally {
+            task.setFinishedAt(LocalDateTime.now());
+            deleteQuietly(file);
+        }
+    }
+
+    // Каждая порция сохраняется в собственной транзакции БД. Строки с несуществующим бюджетом
+    // пропускаются, как и неразобранные, иначе одна такая строка прервала бы импорт на середине
+    private void commitChunk(ImportTask task, List<ImportRow> chunk) {
+        boolean retried = false;
+        while (!chunk.isEmpty()) {
+            int skipped = skipRowsWithMissingBudget(task, chunk);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                transactionService.createTransactionsBulk(chunk.stream().map(ImportRow::transaction).toList());
+            } catch (ResourceNotFoundException e) {
+                // Бюджет удалили между проверкой и сохранением: порция откатилась, проверяем её заново.
+                // Если проверка уже ничего не отсеяла, причина в другом
+                if (retried && skipped == 0) {
+                    throw e;
+                }
+                retried = true;
+                continue;
+            }
+            task.addImportedRows(chunk.size());
+            chunk.clear();
+        }
+    }
+
+    private int skipRowsWithMissingBudget(ImportTask task, List<ImportRow> chunk) {
+        Set<Long> budgetIds = new HashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.transaction().getBudget() != null) {
+                budgetIds.add(row.transaction().getBudget().getId());
+            }
+        }
+        if (budgetIds.isEmpty()) {
+            return 0;
+        }
+        budgetIds.removeAll(budgetRepository.findExistingIds(budgetIds));
+        int skipped = 0;
+        for (Iterator<ImportRow> rows = chunk.iterator(); rows.hasNext(); ) {
+            ImportRow row = rows.next();
+            Budget budget = row.transaction().getBudget();
+            if (budget != null && budgetIds.contains(budget.getId())) {
+                rows.remove();
+                task.addSkippedRow();
+                task.setErrorMessage("Line " + row.lineNumber() + ": Budget not found with id " + budget.getId());
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase().startsWith("date");
+    }
+
+    // Формат строки: date,amount,description[,budgetId]
+    static Transaction parseTransaction(String line) {
+        List<String> fields = CsvLineParser.parse(line);
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("Expected date,amount,description[,budgetId]");
+        }
+        LocalDate date = LocalDate.parse(fields.get(0).trim());
+        long amount;
+        try {
+            amount = MinorUnits.parse(fields.get(1).trim());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + MinorUnits.SCALE + " decimal places");
+        }
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount must be positive or zero");
+        }
+        String description = fields.get(2).trim();
+        if (description.isEmpty()) {
+            throw new IllegalArgumentException("Description is required");
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Description must be at most " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+
+        Budget budget = null;
+        if (fields.size() > 3 && !fields.get(3).isBlank()) {
+            budget = new Budget();
+            budget.setId(Long.parseLong(fields.get(3).trim()));
+        }
+        return new Transaction(amount, date, description, budget, null);
+    }
+
+    private record ImportRow(long lineNumber, Transaction transaction) {
+    }
+
+    @Override
+    public ImportTask getTaskStatus(String taskId) {
+        ImportTask task = tasks.get(taskId);
+        if (task == null) {
+            throw new ResourceNotFoundException("Import task not found with id " + taskId);
+        }
+        return task;
+    }
+
+    // Статус завершённого импорта хранится taskRetention после окончания, затем забывается;
+    // незавершённые задачи не трогаем
+    @Scheduled(fixedDelayString = "${finance.import.task-purge-interval:PT10M}",
+        initialDelayString = "${finance.import.task-purge-interval:PT10M}")
+    public int purgeFinishedTasks() {
+        return purgeTasksFinishedBefore(LocalDateTime.now().minus(taskRetention));
+    }
+
+    int purgeTasksFinishedBefore(LocalDateTime cutoff) {
+        int purged = 0;
+        for (Iterator<ImportTask> it = tasks.values().iterator(); it.hasNext(); ) {
+            LocalDateTime finishedAt = it.next().getFinishedAt();
+            if (finishedAt != null && finishedAt.isBefore(cutoff)) {
+                it.remove();
+                purged++;
+            }
+        }
+        if (purged > 0) {
+            logger.debug("Удалено {} завершённых задач импорта", purged);
+        }
+        return purged;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Не удалось удалить временный файл {}", file);
+        }
+    }
+}
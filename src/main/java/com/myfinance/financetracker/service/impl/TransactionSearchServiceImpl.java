@@ -0,0 +1,219 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.event.RemoteChangeEvent;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
+import com.myfinance.financetracker.event.TransactionsPurgedEvent;
+import com.myfinance.financetracker.exception.ServiceBusyException;
+import com.myfinance.financetracker.exception.ValidationException;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.SearchMode;
+import com.myfinance.financetracker.repository.TransactionRepository;
+import com.myfinance.financetracker.search.UserDescriptionIndex;
+import com.myfinance.financetracker.service.TransactionSearchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class TransactionSearchServiceImpl implements TransactionSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSearchServiceImpl.class);
+
+    private static final int MAX_RESULTS = 500;
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Long, UserDescriptionIndex> indexByUser = new ConcurrentHashMap<>();
+
+    // Изменения, закоммиченные во время перестроения, копятся и применяются после него:
+    // иначе поток перестроения мог бы перезаписать их прочитанными ранее значениями
+    private final Object changesLock = new Object();
+    private List<Object> pendingChanges = new ArrayList<>();
+    private volatile boolean ready;
+    // То же для перезагрузки индекса пользователя по изменению другого экземпляра: пока она идёт,
+    // локальные изменения копятся и применяются после замены индекса
+    private int reloadsInProgress;
+    private List<Object> changesDuringReload = new ArrayList<>();
+
+    public TransactionSearchServiceImpl(TransactionRepository transactionRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<Transaction> searchTransactions(Long userId, String query, SearchMode mode, int limit) {
+        String needle = query == null ? "" : query.strip();
+        if (needle.isEmpty()) {
+            throw new ValidationException("Search query must not be blank");
+        }
+        if (needle.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("Search query must not be longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (!ready) {
+            throw new ServiceBusyException("Search index is not ready, try again later");
+        }
+        UserDescriptionIndex index = indexByUser.get(userId);
+        if (index == null) {
+            return List.of();
+        }
+        List<Long> ids = index.search(needle, mode, Math.max(1, Math.min(limit, MAX_RESULTS)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Одним запросом по первичному ключу; порядок выдачи задаёт индекс
+        Map<Long, Transaction> byId = transactionRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Строит индекс по всем транзакциям при старте. Веб-сервер к этому моменту уже принимает
+     * запросы: до окончания перестроения поиск отвечает 503.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        AtomicLong indexed = new AtomicLong();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TransactionSnapshot> rows = transactionRepository.streamSearchDocuments()) {
+                    rows.forEach(row -> {
+                        upsert(row);
+                        indexed.incrementAndGet();
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Search index rebuild failed, search is disabled", e);
+            synchronized (changesLock) {
+                pendingChanges = null;
+            }
+            return;
+        }
+        synchronized (changesLock) {
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+            ready = true;
+        }
+        logger.info("Search index built from {} transactions in {} ms",
+            indexed.get(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Как и в аналитике, изменения применяются только после коммита
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        accept(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsPurged(TransactionsPurgedEvent event) {
+        accept(event);
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        accept(event);
+    }
+
+    private void accept(Object change) {
+        synchronized (changesLock) {
+            if (!ready) {
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                }
+                return;
+            }
+            if (reloadsInProgress > 0) {
+                changesDuringReload.add(change);
+                return;
+            }
+        }
+        apply(change);
+    }
+
+    private void apply(Object change) {
+        if (change instanceof TransactionChangedEvent event) {
+            for (TransactionSnapshot removed : event.removed()) {
+                UserDescriptionIndex index = removed.userId() != null ? indexByUser.get(removed.userId()) : null;
+                if (index != null) {
+                    index.remove(removed.id());
+                }
+            }
+            event.saved().forEach(this::upsert);
+        } else if (change instanceof TransactionsPurgedEvent event) {
+            if (event.userId() != null) {
+                indexByUser.remove(event.userId());
+            }
+            if (event.budgetId() != null) {
+                indexByUser.values().forEach(index -> index.removeBudget(event.budgetId()));
+            }
+        } else if (change instanceof RemoteChangeEvent event) {
+            switch (event.type()) {
+                case USER_TRANSACTIONS -> reloadUser(event.entityId());
+                case BUDGET_TRANSACTIONS ->
+                    indexByUser.values().forEach(index -> index.removeBudget(event.entityId()));
+                default -> {
+                    // Описания транзакций от бюджетов и категорий не зависят
+                }
+            }
+        }
+    }
+
+    // Изменение другого экземпляра приходит без данных: индекс пользователя строится заново
+    // из БД и заменяет старый целиком. Локальное изменение, закоммиченное во время чтения,
+    // попало бы в старый индекс и потерялось при замене, поэтому оно откладывается и применяется
+    // к новому. Изменения идемпотентны, повтор уже прочитанного из БД безопасен
+    private void reloadUser(Long userId) {
+        synchronized (changesLock) {
+            reloadsInProgress++;
+        }
+        try {
+            UserDescriptionIndex index = new UserDescriptionIndex();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TransactionSnapshot> rows = transactionRepository.streamSearchDocumentsByUser(userId)) {
+                    rows.forEach(row -> index.upsert(row.id(), row.date(), row.budgetId(), row.description()));
+                }
+            });
+            if (index.size() == 0) {
+                indexByUser.remove(userId);
+            } else {
+                indexByUser.put(userId, index);
+            }
+        } finally {
+            // Как и после перестроения, отложенное применяется под блокировкой, чтобы новые
+            // изменения не обогнали его
+            synchronized (changesLock) {
+                if (--reloadsInProgress == 0) {
+                    List<Object> changes = changesDuringReload;
+                    changesDuringReload = new ArrayList<>();
+                    changes.forEach(this::apply);
+                }
+            }
+        }
+    }
+
+    private void upsert(TransactionSnapshot snapshot) {
+        if (snapshot.userId() != null) {
+            indexByUser.computeIfAbsent(snapshot.userId(), userId -> new UserDescriptionIndex())
+                .upsert(snapshot.id(), snapshot.date(), snapshot.budgetId(), snapshot.description());
+        }
+    }
+}
@@ -1,30 +1,73 @@
 // src/main/java/com/myfinance/financetracker/service/impl/TransactionServiceImpl.java
 package com.myfinance.financetracker.service.impl;
 
+import com.myfinance.financetracker.cache.TransactionRangeCache;
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.TransactionCursor;
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.dto.TransactionSummary;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
 import com.myfinance.financetracker.exception.ResourceNotFoundException; // Добавь импорт
 import com.myfinance.financetracker.model.Budget;
 import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.ExportFormat;
 import com.myfinance.financetracker.repository.BudgetRepository;
+import com.myfinance.financetracker.repository.MonthlySpendingRepository;
 import com.myfinance.financetracker.repository.TransactionRepository;
 import com.myfinance.financetracker.service.TransactionService;
-import jakarta.transaction.Transactional; // Добавь импорт для транзакционности
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
 
+    // Границы диапазона дат, если клиент их не указал
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    // Как часто сбрасывать буфер выгрузки клиенту
+    private static final int EXPORT_FLUSH_EVERY = 1000;
+    // Размер JDBC-батча массовой вставки (глобальный hibernate.jdbc.batch_size рассчитан на обычные
+    // сохранения); совпадает с allocationSize последовательности transactions_seq
+    private static final int BULK_BATCH_SIZE = 1000;
+
     private final TransactionRepository transactionRepository;
     private final BudgetRepository budgetRepository;
+    private final MonthlySpendingRepository monthlySpendingRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionRangeCache rangeCache;
 
     @Autowired
     public TransactionServiceImpl(TransactionRepository transactionRepository,
-                                  BudgetRepository budgetRepository) {
+                                  BudgetRepository budgetRepository,
+                                  MonthlySpendingRepository monthlySpendingRepository,
+                                  EntityManager entityManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  TransactionRangeCache rangeCache) {
         this.transactionRepository = transactionRepository;
         this.budgetRepository = budgetRepository;
+        this.monthlySpendingRepository = monthlySpendingRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.rangeCache = rangeCache;
     }
 
     @Override
@@ -33,78 +76,132 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public List<Transaction> getTransactionsByDateRange(String startDate, String endDate) {
-         // ... (остается как было, но возможно стоит использовать Query) ...
-        List<Transaction> allTransactions = transactionRepository.findAll(); // Неэффективно для больших данных
-
-         return allTransactions.stream()
-             .filter(tx -> {
-                 String date = tx.getDate();
-                 boolean afterStart = startDate == null || date == null || date.compareTo(startDate) >= 0; // Добавил проверку на null
-                 boolean beforeEnd = endDate == null || date == null || date.compareTo(endDate) <= 0; // Добавил проверку на null
-                 return afterStart && beforeEnd;
-             })
-             .toList();
+    public CursorPage<Transaction> getTransactionsByDateRange(LocalDate startDate, LocalDate endDate,
+                                                              String cursor, int limit) {
+        LocalDate from = startDate != null ? startDate : MIN_DATE;
+        LocalDate to = endDate != null ? endDate : MAX_DATE;
+        int pageSize = CursorPage.pageSize(limit);
+        // Запрашиваем на одну строку больше, чтобы понять, есть ли следующая страница
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findByDateRange(from, to, fetchLimit);
+        } else {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findByDateRangeAfter(from, to,
+                after.date(), after.id(), fetchLimit);
+        }
+
+        return CursorPage.of(rows, pageSize, last -> new TransactionCursor(last.getDate(), last.getId()).encode());
     }
 
     @Override
     @Transactional // Важно! Обеспечивает выполнение всех операций в одной транзакции БД
     public Transaction createOrUpdateTransaction(Transaction transaction) {
         // Определяем, новая ли это транзакция (для обновления бюджета только при создании)
-         boolean isNew = (transaction.getId() == null);
-         Long budgetId = (transaction.getBudget() != null) ? transaction.getBudget().getId() : null;
-
-         // Если есть budgetId, загружаем бюджет ПЕРЕД сохранением транзакции,
-         // чтобы убедиться, что он существует и получить полный объект.
-         Budget budgetToAssociate = null;
-         if (budgetId != null) {
-             budgetToAssociate = budgetRepository.findById(budgetId)
-                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id " + budgetId + " when creating transaction"));
-             // Привязываем ПОЛНЫЙ объект бюджета к транзакции перед сохранением
-             transaction.setBudget(budgetToAssociate);
-         } else {
-             transaction.setBudget(null); // Убедимся, что бюджет null, если ID не пришел
-         }
-
-         // Теперь сохраняем транзакцию (она уже связана с полным объектом Budget, если он был)
-         Transaction savedTransaction = transactionRepository.save(transaction);
-
-         // Обновляем поле spent у ЗАГРУЖЕННОГО бюджета, если транзакция новая и бюджет был
-         if (isNew && budgetToAssociate != null) {
-             budgetToAssociate.setSpent(budgetToAssociate.getSpent() + savedTransaction.getAmount());
-             // Сохраняем обновленный ПОЛНЫЙ объект бюджета (валидация должна пройти)
-             budgetRepository.save(budgetToAssociate);
-         }
-
-         return savedTransaction; // Возвращаем сохраненную транзакцию
+        boolean isNew = (transaction.getId() == null);
+        Long budgetId = (transaction.getBudget() != null) ? transaction.getBudget().getId() : null;
+
+        // Месячные сводки и аналитика: при обновлении сначала вычитаем то, что сейчас лежит в БД
+        List<TransactionSnapshot> previous = isNew
+            ? List.of()
+            : transactionRepository.findSnapshotsByIds(List.of(transaction.getId()));
+
+        if (budgetId != null) {
+            // Для новой транзакции сразу атомарно увеличиваем spent: без SELECT бюджета
+            // и без гонки read-modify-write. 0 изменённых строк - бюджета не существует
+            boolean budgetExists = isNew
+                ? budgetRepository.addToSpent(budgetId, transaction.getAmount()) > 0
+                : budgetRepository.existsById(budgetId);
+            if (!budgetExists) {
+                throw new ResourceNotFoundException("Budget not found with id " + budgetId + " when creating transaction");
+            }
+            transaction.setBudget(budgetRepository.getReferenceById(budgetId));
+        } else {
+            transaction.setBudget(null); // Убедимся, что бюджет null, если ID не пришел
+        }
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        recordChanges(previous, List.of(TransactionSnapshot.of(savedTransaction)));
+        return savedTransaction;
+    }
+
+    @Override
+    @Transactional
+    public List<Transaction> createTransactionsBulk(List<Transaction> transactions) {
+        // Все бюджеты из пачки загружаем одним запросом
+        Set<Long> budgetIds = transactions.stream()
+            .map(Transaction::getBudget)
+            .filter(budget -> budget != null && budget.getId() != null)
+            .map(Budget::getId)
+            .collect(Collectors.toSet());
+        Map<Long, Budget> budgets = budgetRepository.findAllById(budgetIds).stream()
+            .collect(Collectors.toMap(Budget::getId, Function.identity()));
+        for (Long budgetId : budgetIds) {
+            if (!budgets.containsKey(budgetId)) {
+                throw new ResourceNotFoundException("Budget not found with id " + budgetId + " when creating transaction");
+            }
+        }
+
+        // Старые значения обновляемых транзакций - одним запросом
+        List<Long> updatedIds = transactions.stream()
+            .map(Transaction::getId)
+            .filter(Objects::nonNull)
+            .toList();
+        List<TransactionSnapshot> previous = updatedIds.isEmpty()
+            ? List.of()
+            : transactionRepository.findSnapshotsByIds(updatedIds);
+
+        // Суммируем изменения spent по бюджетам, как и в одиночном варианте - только для новых транзакций.
+        // Счётчик - long[1] на бюджет: сложение идёт на примитивах, без упаковки на каждую транзакцию
+        Map<Long, long[]> spentDeltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            Budget budget = transaction.getBudget();
+            Budget budgetToAssociate = (budget != null && budget.getId() != null) ? budgets.get(budget.getId()) : null;
+            transaction.setBudget(budgetToAssociate);
+            if (transaction.getId() == null && budgetToAssociate != null) {
+                spentDeltas.computeIfAbsent(budgetToAssociate.getId(), id -> new long[1])[0] += transaction.getAmount();
+            }
+        }
+
+        // Действует до конца сессии, то есть текущей транзакции БД
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BULK_BATCH_SIZE);
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+
+        // По одному атомарному UPDATE на бюджет
+        spentDeltas.forEach((budgetId, delta) -> budgetRepository.addToSpent(budgetId, delta[0]));
+        recordChanges(previous, savedTransactions.stream().map(TransactionSnapshot::of).toList());
+
+        return savedTransactions;
     }
 
     @Override
     @Transactional // Также лучше сделать транзакционным
     public void deleteTransaction(Long id) {
-        // Перед удалением транзакции, возможно, нужно скорректировать spent у бюджета
-        Optional<Transaction> transactionOpt = transactionRepository.findById(id);
-        if (transactionOpt.isPresent()) {
-            Transaction transaction = transactionOpt.get();
-            if (transaction.getBudget() != null) {
-                Budget budget = transaction.getBudget();
-                // Уменьшаем потраченную сумму (т.к. транзакция удаляется)
-                budget.setSpent(budget.getSpent() - transaction.getAmount());
-                // Проверяем, чтобы spent не стал отрицательным (на всякий случай)
-                if (budget.getSpent() < 0) {
-                   budget.setSpent(0.0);
-                }
-                budgetRepository.save(budget); // Сохраняем обновленный бюджет
-            }
-            transactionRepository.deleteById(id); // Удаляем саму транзакцию
-        } else {
-             throw new ResourceNotFoundException("Transaction not found with id " + id + " for deletion");
+        Transaction transaction = transactionRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id " + id + " for deletion"));
+        if (transaction.getBudget() != null) {
+            // Уменьшаем потраченную сумму атомарно (не ниже нуля, см. BudgetRepository.addToSpent)
+            budgetRepository.addToSpent(transaction.getBudget().getId(), -transaction.getAmount());
         }
+        recordChanges(List.of(TransactionSnapshot.of(transaction)), List.of());
+        transactionRepository.delete(transaction);
+    }
+
+    // Обновляет месячные сводки в текущей транзакции и сообщает об изменении слушателям
+    // (кэш аналитики применяет его после коммита)
+    private void recordChanges(List<TransactionSnapshot> removed, List<TransactionSnapshot> saved) {
+        MonthlySpendingDeltas rollup = new MonthlySpendingDeltas();
+        removed.forEach(rollup::remove);
+        saved.forEach(rollup::add);
+        rollup.applyTo(monthlySpendingRepository);
+        eventPublisher.publishEvent(new TransactionChangedEvent(removed, saved));
     }
 
 
     @Override
-    public List<Transaction> getTransactionsByUserAndDateRange(Long userId, String startDate, String endDate) {
+    public List<TransactionSummary> getTransactionsByUserAndDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
         // Проверка на null для дат, т.к. Query может не сработать с null параметрами
         if (startDate == null || endDate == null) {
             // Можно вернуть пустой список или вызвать другой метод репозитория без дат
@@ -113,6 +210,29 @@ public class TransactionServiceImpl implements TransactionService {
              // Пока вернем пустой для соответствия сигнатуре
              return List.of();
         }
-        return transactionRepository.findTransactionsByUserAndDateRange(userId, startDate, endDate);
+        // Дашборды повторяют одни и те же диапазоны; изменения транзакций пользователя сбрасывают его записи
+        return rangeCache.get(userId, startDate, endDate,
+            () -> transactionRepository.findSummariesByUserAndDateRange(userId, startDate, endDate));
+    }
+
+    @Override
+    @Transactional(readOnly = true) // Курсор БД живёт только внутри транзакции
+    public void exportTransactions(LocalDate startDate, LocalDate endDate,
+                                   ExportFormat format, OutputStream out) throws IOException {
+        LocalDate from = startDate != null ? startDate : MIN_DATE;
+        LocalDate to = endDate != null ? endDate : MAX_DATE;
+
+        try (Stream<Transaction> rows = transactionRepository.streamByDateRange(from, to);
+             TransactionExportWriter writer = new TransactionExportWriter(format, out)) {
+            int written = 0;
+            for (Transaction transaction : (Iterable<Transaction>) rows::iterator) {
+                writer.write(transaction);
+                // Отсоединяем сущность, чтобы контекст персистентности не рос вместе с выгрузкой
+                entityManager.detach(transaction);
+                if (++written % EXPORT_FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,21 @@
 package com.myfinance.financetracker.service.impl;
 
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.IdCursor;
+import com.myfinance.financetracker.dto.UserAmountMatch;
+import com.myfinance.financetracker.dto.UserStats;
+import com.myfinance.financetracker.dto.UserSummary;
+import com.myfinance.financetracker.exception.ValidationException;
 import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.repository.MonthlySpendingRepository;
 import com.myfinance.financetracker.repository.UserRepository;
 import com.myfinance.financetracker.service.UserService;
+import com.myfinance.financetracker.event.TransactionsPurgedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,10 +24,15 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final MonthlySpendingRepository monthlySpendingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, MonthlySpendingRepository monthlySpendingRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.monthlySpendingRepository = monthlySpendingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -25,8 +41,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public CursorPage<UserSummary> getAllUsers(String cursor, int limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        List<UserSummary> rows = userRepository.findSummariesAfter(IdCursor.afterId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, user -> IdCursor.encode(user.id()));
     }
 
     @Override
@@ -35,12 +53,30 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
+        // Транзакции пользователя удаляются каскадно, поэтому убираем и их сводки
+        monthlySpendingRepository.deleteByUserId(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(TransactionsPurgedEvent.forUser(id));
     }
 
     @Override
-    public List<User> getUsersByTransactionAmount(Double amount) {
-        return userRepository.findUsersByTransactionAmount(amount);
+    public CursorPage<UserAmountMatch> getUsersByTransactionAmountRange(long minAmount, long maxAmount,
+                                                                        String cursor, int limit) {
+        if (minAmount > maxAmount) {
+            throw new ValidationException("Minimum amount must not be greater than maximum amount");
+        }
+        int pageSize = CursorPage.pageSize(limit);
+        List<UserAmountMatch> rows = userRepository.findUsersByTransactionAmountRange(
+            minAmount, maxAmount, IdCursor.afterId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, user -> IdCursor.encode(user.id()));
+    }
+
+    @Override
+    public CursorPage<UserStats> getUserStats(String cursor, int limit) {
+        int pageSize = CursorPage.pageSize(limit);
+        List<UserStats> rows = userRepository.findUserStats(IdCursor.afterId(cursor), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, user -> IdCursor.encode(user.id()));
     }
 }
\ No newline at end of file
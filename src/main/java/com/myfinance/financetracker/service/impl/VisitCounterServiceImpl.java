@@ -1,46 +1,79 @@
 package com.myfinance.financetracker.service.impl;
 
+import com.myfinance.financetracker.dto.PathHits;
+import com.myfinance.financetracker.exception.ValidationException;
 import com.myfinance.financetracker.model.Visit;
 import com.myfinance.financetracker.repository.VisitRepository;
 import com.myfinance.financetracker.service.VisitCounterService;
+import com.myfinance.financetracker.visits.HeavyHitters;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
 
+/**
+ * Счётчики посещений в памяти. Увеличение счётчика - без блокировок и без обращений к БД:
+ * LongAdder распределяет запись по ячейкам между потоками, а сохранённые в БД значения
+ * загружаются при старте и после сбросов и хранятся отдельно от прироста.
+ */
 @Service
-@Transactional
 public class VisitCounterServiceImpl implements VisitCounterService {
 
+    private static final Logger logger = LoggerFactory.getLogger(VisitCounterServiceImpl.class);
+
+    private static final int RAW_PATH_STRIPES = 16;
+
     private final VisitRepository visitRepository;
-    private final Map<String, AtomicLong> counterCache = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counterCache = new ConcurrentHashMap<>();
+    private final long snapshotTtlNanos;
+    private final Object snapshotLock = new Object();
+    private volatile Snapshot snapshot;
+    private final HeavyHitters rawPaths;
+    private final int rawPathCapacity;
 
     @Autowired
-    public VisitCounterServiceImpl(VisitRepository visitRepository) {
+    public VisitCounterServiceImpl(VisitRepository visitRepository,
+                                   @Value("${finance.visits.snapshot-ttl:PT5S}") Duration snapshotTtl,
+                                   @Value("${finance.visits.raw-path-capacity:1024}") int rawPathCapacity) {
         this.visitRepository = visitRepository;
+        this.snapshotTtlNanos = snapshotTtl.toNanos();
+        this.rawPaths = new HeavyHitters(rawPathCapacity, RAW_PATH_STRIPES);
+        this.rawPathCapacity = rawPathCapacity;
     }
 
     @Override
-    public synchronized void incrementVisitCount(String url) {
-        // Используем кэш для быстрого доступа
-        AtomicLong counter = counterCache.computeIfAbsent(url, k -> {
-            Visit visit = visitRepository.findByUrl(url);
-            return new AtomicLong(visit != null ? visit.getCount() : 0);
-        });
-
-        counter.incrementAndGet();
+    public void incrementVisitCount(String url) {
+        // get без блокировки для уже известных URL; computeIfAbsent только для новых
+        Counter counter = counterCache.get(url);
+        if (counter == null) {
+            counter = counterCache.computeIfAbsent(url, key -> new Counter());
+        }
+        counter.visits.increment();
     }
 
     @Override
     public long getVisitCount(String url) {
         // Проверяем кэш, затем БД
-        AtomicLong cachedCount = counterCache.get(url);
-        if (cachedCount != null) {
-            return cachedCount.get();
+        Counter counter = counterCache.get(url);
+        if (counter != null) {
+            return counter.total();
         }
 
         Visit visit = visitRepository.findByUrl(url);
@@ -49,20 +82,150 @@ public class VisitCounterServiceImpl implements VisitCounterService {
 
     @Override
     public Map<String, Long> getAllVisits() {
-        return Map.of();
+        return getVisits(null, null);
+    }
+
+    @Override
+    public Map<String, Long> getVisits(String prefix, Integer top) {
+        if (top != null && top <= 0) {
+            throw new ValidationException("top must be positive");
+        }
+        return currentSnapshot().select(prefix == null ? "" : prefix, top == null ? Integer.MAX_VALUE : top);
+    }
+
+    @Override
+    public void recordRawPath(String path) {
+        rawPaths.record(path);
+    }
+
+    @Override
+    public List<PathHits> getTopRawPaths(int k) {
+        if (k <= 0) {
+            throw new ValidationException("k must be positive");
+        }
+        return rawPaths.top(Math.min(k, rawPathCapacity));
+    }
+
+    // Опросы дашборда в пределах TTL читают готовый снимок; пересобирает его один поток
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.builtAt() < snapshotTtlNanos) {
+            return current;
+        }
+        synchronized (snapshotLock) {
+            current = snapshot;
+            if (current == null || System.nanoTime() - current.builtAt() >= snapshotTtlNanos) {
+                current = Snapshot.of(counterCache);
+                snapshot = current;
+            }
+            return current;
+        }
     }
 
+    /**
+     * Загружает сохранённые счётчики: при старте и после каждого сброса, чтобы были видны
+     * посещения, сохранённые другими экземплярами. Ещё не сохранённый прирост этого
+     * экземпляра к значению из БД добавляется, а не заменяется им.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadSavedCounts() {
+        List<Object[]> rows = visitRepository.findAllUrlsAndCounts();
+        for (Object[] row : rows) {
+            Long count = (Long) row[1];
+            Counter counter = counterCache.computeIfAbsent((String) row[0], key -> new Counter());
+            // В БД уже есть flushed посещений этого экземпляра, они же посчитаны в visits
+            counter.saved = (count != null ? count : 0) - counter.flushed;
+        }
+        logger.debug("Loaded {} visit counters", rows.size());
+    }
+
+    /**
+     * Добавляет в БД прирост с прошлого сброса одним пакетом upsert-ов. Экземпляры не
+     * перезаписывают значения друг друга, поэтому сброс может идти на всех одновременно.
+     * При ошибке прирост не теряется и уходит со следующим сбросом.
+     */
     @Scheduled(fixedRate = 60000) // Сохраняем в БД каждую минуту
-    public void saveCountersToDatabase() {
+    public synchronized void saveCountersToDatabase() {
+        Map<String, Long> deltas = new HashMap<>();
+        Map<Counter, Long> counted = new HashMap<>();
         counterCache.forEach((url, counter) -> {
-            Visit visit = visitRepository.findByUrl(url);
-            if (visit == null) {
-                visit = new Visit();
-                visit.setUrl(url);
+            // Посещения после чтения суммы попадут в следующий сброс
+            long visits = counter.visits.sum();
+            if (visits > counter.flushed) {
+                deltas.put(url, visits - counter.flushed);
+                counted.put(counter, visits);
             }
-            visit.setCount(counter.get());
-            visit.setLastVisitedAt(LocalDateTime.now());
-            visitRepository.save(visit);
         });
+        if (!deltas.isEmpty()) {
+            visitRepository.addCounts(deltas, LocalDateTime.now());
+            counted.forEach((counter, visits) -> counter.flushed = visits);
+        }
+        // Без своих посещений тоже: значения других экземпляров должны обновляться
+        loadSavedCounts();
+    }
+
+    // Прирост за последнюю минуту иначе терялся бы при остановке
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            saveCountersToDatabase();
+        } catch (RuntimeException e) {
+            logger.warn("Visit counters were not saved on shutdown", e);
+        }
+    }
+
+    // Значение из БД без сохранённой части прироста плюс весь прирост этого экземпляра
+    private static final class Counter {
+        private final LongAdder visits = new LongAdder();
+        private volatile long saved;
+        // Сколько из visits уже добавлено в БД; меняется только под монитором сервиса
+        private long flushed;
+
+        long total() {
+            return saved + visits.sum();
+        }
+    }
+
+    /**
+     * Неизменяемый снимок счётчиков: URL отсортированы по алфавиту, поэтому префикс - это
+     * непрерывный отрезок, найденный двоичным поиском; отдельно хранится порядок по убыванию
+     * счётчика, из которого top-N берётся первыми подходящими элементами.
+     */
+    private record Snapshot(long builtAt, String[] urls, long[] counts, int[] byCount) {
+
+        static Snapshot of(Map<String, Counter> counters) {
+            String[] urls = counters.keySet().toArray(String[]::new);
+            Arrays.sort(urls);
+            long[] counts = new long[urls.length];
+            for (int i = 0; i < urls.length; i++) {
+                Counter counter = counters.get(urls[i]);
+                counts[i] = counter != null ? counter.total() : 0;
+            }
+            // При равных счётчиках - по URL
+            int[] byCount = IntStream.range(0, urls.length).boxed()
+                .sorted(Comparator.<Integer>comparingLong(i -> counts[i]).reversed().thenComparingInt(i -> i))
+                .mapToInt(Integer::intValue)
+                .toArray();
+            return new Snapshot(System.nanoTime(), urls, counts, byCount);
+        }
+
+        // Не больше top URL с данным префиксом по убыванию счётчика
+        Map<String, Long> select(String prefix, int top) {
+            int from = lowerBound(prefix);
+            int to = prefix.isEmpty() ? urls.length : lowerBound(prefix + Character.MAX_VALUE);
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (int i = 0; i < byCount.length && result.size() < Math.min(top, to - from); i++) {
+                int index = byCount[i];
+                if (index >= from && index < to) {
+                    result.put(urls[index], counts[index]);
+                }
+            }
+            return Collections.unmodifiableMap(result);
+        }
+
+        private int lowerBound(String key) {
+            int position = Arrays.binarySearch(urls, key);
+            return position >= 0 ? position : -position - 1;
+        }
     }
-}
\ No newline at end of file
+}
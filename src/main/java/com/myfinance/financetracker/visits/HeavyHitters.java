@@ -0,0 +1,145 @@
+package com.myfinance.financetracker.visits;
+
+import com.myfinance.financetracker.dto.PathHits;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Самые частые ключи потока в фиксированной памяти (алгоритм Space-Saving). Хранится не больше
+ * capacity счётчиков; новый ключ при заполненной таблице вытесняет ключ с наименьшим счётчиком
+ * и наследует его значение как погрешность. Оценка не меньше истинной частоты и превышает её
+ * не больше чем на error, а любой ключ с частотой больше N / (capacity / stripes) в таблице есть.
+ *
+ * <p>Ключи распределены по полосам по хэшу, у каждой полосы свой монитор, поэтому потоки,
+ * пишущие разные ключи, почти не ждут друг друга. Ключ всегда попадает в одну полосу, так что
+ * объединение полос - корректный результат.
+ */
+public final class HeavyHitters {
+
+    private final Stripe[] stripes;
+
+    public HeavyHitters(int capacity, int stripeCount) {
+        if (capacity <= 0 || stripeCount <= 0 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("capacity must be positive and stripeCount a power of two");
+        }
+        int perStripe = Math.max(1, (capacity + stripeCount - 1) / stripeCount);
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    public void record(String key) {
+        int hash = key.hashCode();
+        stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)].record(key);
+    }
+
+    /**
+     * Не больше k ключей с наибольшими оценками, по убыванию.
+     */
+    public List<PathHits> top(int k) {
+        List<PathHits> all = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.collect(all);
+        }
+        return all.stream()
+            .sorted(Comparator.comparingLong(PathHits::count).reversed().thenComparing(PathHits::path))
+            .limit(k)
+            .toList();
+    }
+
+    // Таблица Space-Saving одной полосы: счётчики в min-куче, корень - кандидат на вытеснение
+    private static final class Stripe {
+        private final Entry[] heap;
+        private int size;
+        private final Map<String, Entry> byKey;
+
+        Stripe(int capacity) {
+            heap = new Entry[capacity];
+            byKey = new HashMap<>(capacity * 2);
+        }
+
+        synchronized void record(String key) {
+            Entry entry = byKey.get(key);
+            if (entry != null) {
+                entry.count++;
+                siftDown(entry.index);
+            } else if (size < heap.length) {
+                entry = new Entry(key, 1, 0);
+                entry.index = size;
+                heap[size++] = entry;
+                byKey.put(key, entry);
+                siftUp(entry.index);
+            } else {
+                // Наименьший счётчик переходит новому ключу вместе с погрешностью
+                Entry evicted = heap[0];
+                byKey.remove(evicted.key);
+                evicted.error = evicted.count;
+                evicted.count++;
+                evicted.key = key;
+                byKey.put(key, evicted);
+                siftDown(0);
+            }
+        }
+
+        synchronized void collect(List<PathHits> out) {
+            for (int i = 0; i < size; i++) {
+                out.add(new PathHits(heap[i].key, heap[i].count, heap[i].error));
+            }
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent].count <= heap[index].count) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heap[left].count < heap[smallest].count) {
+                    smallest = left;
+                }
+                if (right < size && heap[right].count < heap[smallest].count) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            Entry entry = heap[a];
+            heap[a] = heap[b];
+            heap[b] = entry;
+            heap[a].index = a;
+            heap[b].index = b;
+        }
+    }
+
+    private static final class Entry {
+        private String key;
+        private long count;
+        private long error;
+        private int index;
+
+        Entry(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- Transaction ids are allocated in blocks of 1000 (allocationSize = 1000), so a bulk upload
+-- fetches one sequence value per JDBC batch instead of one per 50 rows. The pooled optimizer
+-- takes each value as the upper bound of a block, so the sequence is first moved to the
+-- largest id that may already be in use (an existing row or the end of a block handed out
+-- under the old increment): the next block then starts right above it.
+-- Instances still running with allocationSize = 50 would take values from the same sequence
+-- as 50-id blocks inside the new 1000-id ones, so every instance must be upgraded together.
+DO $$
+DECLARE
+    used_id BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.sequences
+               WHERE sequence_schema = current_schema()
+                 AND sequence_name = 'transactions_seq') THEN
+        SELECT GREATEST(COALESCE((SELECT MAX(id) FROM transactions), 0), s.last_value)
+        INTO used_id
+        FROM transactions_seq s;
+        ALTER SEQUENCE transactions_seq INCREMENT BY 1000;
+        PERFORM setval('transactions_seq', used_id, true);
+    END IF;
+END
+$$;
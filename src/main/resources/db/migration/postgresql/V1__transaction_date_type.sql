@@ -0,0 +1,88 @@
+-- transactions.date: VARCHAR -> DATE, plus a composite (user_id, date) index
+-- for per-user range scans. On an empty database the table does not exist yet
+-- and is created later by Hibernate with the correct type and indexes.
+--
+-- Accepted values are YYYY-MM-DD (optionally followed by a time) and DD.MM.YYYY
+-- that form a real calendar date. Any other row (NULL, another format, an
+-- impossible date such as 2023-13-45) is not turned into NULL: it is copied with
+-- its raw value to transactions_date_quarantine and removed from transactions,
+-- and its amount is taken out of budgets.spent as deleting a transaction does.
+-- The number of moved rows is reported as a WARNING.
+
+-- NULL if the value is not one of the accepted formats or not a real date
+CREATE FUNCTION pg_temp.legacy_transaction_date(raw TEXT) RETURNS DATE
+    LANGUAGE plpgsql IMMUTABLE AS $$
+DECLARE
+    value TEXT := trim(raw);
+    y INT;
+    m INT;
+    d INT;
+BEGIN
+    IF value ~ '^\d{4}-\d{2}-\d{2}([T ].*)?$' THEN
+        y := substring(value FROM 1 FOR 4)::INT;
+        m := substring(value FROM 6 FOR 2)::INT;
+        d := substring(value FROM 9 FOR 2)::INT;
+    ELSIF value ~ '^\d{2}\.\d{2}\.\d{4}$' THEN
+        d := substring(value FROM 1 FOR 2)::INT;
+        m := substring(value FROM 4 FOR 2)::INT;
+        y := substring(value FROM 7 FOR 4)::INT;
+    ELSE
+        RETURN NULL;
+    END IF;
+    -- Range checks first: make_date raises on a date that does not exist. Separate IFs,
+    -- because SQL does not guarantee the order in which OR operands are evaluated
+    IF y < 1 OR m NOT BETWEEN 1 AND 12 THEN
+        RETURN NULL;
+    END IF;
+    IF d NOT BETWEEN 1 AND extract(DAY FROM make_date(y, m, 1) + INTERVAL '1 month' - INTERVAL '1 day') THEN
+        RETURN NULL;
+    END IF;
+    RETURN make_date(y, m, d);
+END
+$$;
+
+DO $$
+DECLARE
+    quarantined BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'transactions'
+                 AND column_name = 'date'
+                 AND data_type <> 'date') THEN
+        CREATE TABLE transactions_date_quarantine AS
+            SELECT t.*, now() AS quarantined_at FROM transactions t WITH NO DATA;
+        INSERT INTO transactions_date_quarantine
+            SELECT t.*, now() FROM transactions t WHERE pg_temp.legacy_transaction_date(t.date) IS NULL;
+        GET DIAGNOSTICS quarantined = ROW_COUNT;
+
+        IF quarantined > 0 THEN
+            UPDATE budgets b
+            SET spent = GREATEST(COALESCE(b.spent, 0) - q.total, 0)
+            FROM (SELECT budget_id, sum(amount) AS total
+                  FROM transactions_date_quarantine
+                  WHERE budget_id IS NOT NULL AND amount IS NOT NULL
+                  GROUP BY budget_id) q
+            WHERE b.id = q.budget_id;
+            DELETE FROM transactions t WHERE pg_temp.legacy_transaction_date(t.date) IS NULL;
+            RAISE WARNING 'transactions.date: % row(s) with unparseable dates moved to transactions_date_quarantine',
+                quarantined;
+        END IF;
+
+        ALTER TABLE transactions
+            ALTER COLUMN date TYPE DATE USING pg_temp.legacy_transaction_date(date),
+            ALTER COLUMN date SET NOT NULL;
+    END IF;
+
+    IF EXISTS (SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = current_schema()
+                 AND table_name = 'transactions') THEN
+        CREATE INDEX IF NOT EXISTS idx_transactions_user_date ON transactions (user_id, date);
+        CREATE INDEX IF NOT EXISTS idx_transactions_date_id ON transactions (date, id);
+    END IF;
+END
+$$;
+
+DROP FUNCTION pg_temp.legacy_transaction_date(TEXT);
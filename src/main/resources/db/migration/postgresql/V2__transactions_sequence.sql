@@ -0,0 +1,16 @@
+-- Transaction ids move from IDENTITY to a pooled sequence (allocationSize = 50)
+-- so Hibernate can batch inserts. The sequence starts above every existing id:
+-- the pooled optimizer treats each value as the upper bound of a 50-id block.
+DO $$
+DECLARE
+    next_id BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = current_schema()
+                 AND table_name = 'transactions') THEN
+        SELECT COALESCE(MAX(id), 0) + 51 INTO next_id FROM transactions;
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH %s INCREMENT BY 50', next_id);
+    END IF;
+END
+$$;
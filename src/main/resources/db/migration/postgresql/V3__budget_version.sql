@@ -0,0 +1,13 @@
+-- Optimistic locking column for budgets. spent is now changed only by atomic
+-- "spent = spent + delta" updates, so NULL values are normalised to 0.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = current_schema()
+                 AND table_name = 'budgets') THEN
+        ALTER TABLE budgets ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+        UPDATE budgets SET spent = 0 WHERE spent IS NULL;
+    END IF;
+END
+$$;
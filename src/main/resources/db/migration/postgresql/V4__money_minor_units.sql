@@ -0,0 +1,34 @@
+-- Money columns move from double precision to BIGINT minor units (1 = 0.01).
+-- Existing values are rounded to the nearest minor unit; already converted
+-- columns are left untouched.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'transactions'
+                 AND column_name = 'amount'
+                 AND data_type <> 'bigint') THEN
+        UPDATE transactions SET amount = 0 WHERE amount IS NULL;
+        ALTER TABLE transactions
+            ALTER COLUMN amount TYPE BIGINT USING round(amount * 100)::bigint,
+            ALTER COLUMN amount SET NOT NULL;
+    END IF;
+
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'budgets'
+                 AND column_name = 'limit_amount'
+                 AND data_type <> 'bigint') THEN
+        UPDATE budgets SET limit_amount = 0 WHERE limit_amount IS NULL;
+        UPDATE budgets SET spent = 0 WHERE spent IS NULL;
+        ALTER TABLE budgets
+            ALTER COLUMN limit_amount TYPE BIGINT USING round(limit_amount * 100)::bigint,
+            ALTER COLUMN limit_amount SET NOT NULL,
+            ALTER COLUMN spent TYPE BIGINT USING round(spent * 100)::bigint,
+            ALTER COLUMN spent SET NOT NULL,
+            ALTER COLUMN spent SET DEFAULT 0;
+    END IF;
+END
+$$;
@@ -0,0 +1,32 @@
+-- Per-user monthly spending rollups keyed by (user_id, budget_id, year_month).
+-- A missing user or budget is stored as 0; year_month is yyyyMM. Existing
+-- transactions are folded into the table once, later changes are applied
+-- incrementally by the application.
+CREATE TABLE IF NOT EXISTS monthly_spending (
+    user_id           BIGINT  NOT NULL,
+    budget_id         BIGINT  NOT NULL,
+    year_month        INTEGER NOT NULL,
+    total             BIGINT  NOT NULL,
+    transaction_count BIGINT  NOT NULL,
+    PRIMARY KEY (user_id, budget_id, year_month)
+);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = current_schema()
+                 AND table_name = 'transactions') THEN
+        INSERT INTO monthly_spending (user_id, budget_id, year_month, total, transaction_count)
+        SELECT COALESCE(user_id, 0),
+               COALESCE(budget_id, 0),
+               (EXTRACT(YEAR FROM date) * 100 + EXTRACT(MONTH FROM date))::INTEGER,
+               SUM(amount),
+               COUNT(*)
+        FROM transactions
+        WHERE date IS NOT NULL
+        GROUP BY 1, 2, 3
+        ON CONFLICT DO NOTHING;
+    END IF;
+END
+$$;
@@ -0,0 +1,12 @@
+-- Lookup of users by transaction amount range reads (amount, user_id) straight
+-- from the index instead of scanning the whole transactions table.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = current_schema()
+                 AND table_name = 'transactions') THEN
+        CREATE INDEX IF NOT EXISTS idx_transactions_amount_user ON transactions (amount, user_id);
+    END IF;
+END
+$$;
@@ -0,0 +1,11 @@
+-- Optimistic locking column for categories; also the source of category ETags.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = current_schema()
+                 AND table_name = 'categories') THEN
+        ALTER TABLE categories ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+    END IF;
+END
+$$;
@@ -0,0 +1,12 @@
+-- Change journal polled by every instance to drop stale entries from its local caches.
+-- Rows are written in the same transaction as the change and deleted after the
+-- retention period (finance.change-log.retention).
+CREATE TABLE IF NOT EXISTS change_log (
+    id          BIGSERIAL                PRIMARY KEY,
+    change_type VARCHAR(32)              NOT NULL,
+    entity_id   BIGINT                   NOT NULL,
+    origin      VARCHAR(64)              NOT NULL,
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_created_at ON change_log (created_at);
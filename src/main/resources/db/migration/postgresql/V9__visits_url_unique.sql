@@ -0,0 +1,28 @@
+-- One row per URL, so visit counters can be flushed as additive upserts (ON CONFLICT (url)).
+-- Duplicates came from instances inserting the same new URL concurrently; each counted only
+-- its own visits, so they are merged by summing into the oldest row.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = current_schema()
+                 AND table_name = 'visits') THEN
+        UPDATE visits v
+        SET count = d.total, last_visited_at = d.last_visited_at
+        FROM (SELECT MIN(id) AS id, SUM(count) AS total, MAX(last_visited_at) AS last_visited_at
+              FROM visits
+              GROUP BY url
+              HAVING COUNT(*) > 1) d
+        WHERE v.id = d.id;
+
+        DELETE FROM visits v
+        USING visits kept
+        WHERE v.url = kept.url
+          AND v.id > kept.id;
+
+        IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_visits_url') THEN
+            ALTER TABLE visits ADD CONSTRAINT uk_visits_url UNIQUE (url);
+        END IF;
+    END IF;
+END
+$$;
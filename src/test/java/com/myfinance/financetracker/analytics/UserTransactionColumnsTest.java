@@ -0,0 +1,171 @@
+package com.myfinance.financetracker.analytics;
+
+import com.myfinance.financetracker.dto.AnalyticsSummary;
+import com.myfinance.financetracker.dto.BudgetTotal;
+import com.myfinance.financetracker.dto.PeriodTotal;
+import com.myfinance.financetracker.model.enums.AnalyticsPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserTransactionColumnsTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private record Row(long id, LocalDate date, long amount, Long budgetId) {
+    }
+
+    @Test
+    void aggregates_MatchNaiveScan() {
+        Random random = new Random(7);
+        UserTransactionColumns columns = new UserTransactionColumns();
+        Map<Long, Row> rows = new HashMap<>();
+        // Больше порога параллельного сканирования
+        for (long id = 1; id <= 200_000; id++) {
+            rows.put(id, randomRow(random, id));
+        }
+        // Как при загрузке из БД: строки приходят в порядке (date, id)
+        rows.values().stream()
+            .sorted(Comparator.comparing(Row::date).thenComparingLong(Row::id))
+            .forEach(row -> columns.append(row.id(), row.date(), row.amount(), row.budgetId()));
+        // Обновления с переносом даты и удаления
+        for (int i = 0; i < 5_000; i++) {
+            long id = 1 + random.nextInt(200_000);
+            Row old = rows.get(id);
+            if (old == null) {
+                continue;
+            }
+            columns.remove(id, old.date());
+            if (random.nextBoolean()) {
+                rows.remove(id);
+            } else {
+                Row updated = randomRow(random, id);
+                rows.put(id, updated);
+                columns.upsert(updated.id(), updated.date(), updated.amount(), updated.budgetId());
+            }
+        }
+
+        assertEquals(rows.size(), columns.size());
+        LocalDate from = LocalDate.of(2021, 3, 15);
+        LocalDate to = LocalDate.of(2022, 7, 1);
+        assertEquals(naiveSummary(rows.values(), from, to, row -> true), columns.summarize(from, to, null));
+        assertEquals(naiveSummary(rows.values(), from, to, row -> Objects.equals(3L, row.budgetId())),
+            columns.summarize(from, to, 3L));
+        // Весь диапазон сканируется параллельно
+        assertEquals(naiveSummary(rows.values(), null, null, row -> true), columns.summarize(null, null, null));
+        assertEquals(naiveSummary(rows.values(), null, null, row -> Objects.equals(3L, row.budgetId())),
+            columns.summarize(null, null, 3L));
+
+        List<BudgetTotal> budgetTotals = columns.totalsByBudget(from, to);
+        assertEquals(11, budgetTotals.size());
+        for (BudgetTotal budgetTotal : budgetTotals) {
+            AnalyticsSummary expected = naiveSummary(rows.values(), from, to,
+                row -> Objects.equals(budgetTotal.budgetId(), row.budgetId()));
+            assertEquals(expected.count(), budgetTotal.count());
+            assertEquals(expected.total(), budgetTotal.total());
+        }
+
+        List<PeriodTotal> months = columns.totalsByPeriod(from, to, AnalyticsPeriod.MONTH);
+        assertEquals(LocalDate.of(2021, 3, 1), months.get(0).periodStart());
+        assertEquals(LocalDate.of(2022, 7, 1), months.get(months.size() - 1).periodStart());
+        assertEquals(17, months.size());
+        assertEquals(columns.summarize(from, to, null).total(),
+            months.stream().mapToLong(PeriodTotal::total).sum());
+        for (PeriodTotal month : months) {
+            LocalDate monthFrom = month.periodStart().isBefore(from) ? from : month.periodStart();
+            LocalDate monthTo = month.periodStart().plusMonths(1).minusDays(1);
+            AnalyticsSummary expected = naiveSummary(rows.values(), monthFrom, monthTo.isAfter(to) ? to : monthTo,
+                row -> true);
+            assertEquals(expected.count(), month.count());
+            assertEquals(expected.total(), month.total());
+        }
+    }
+
+    @Test
+    void upsert_IsIdempotent() {
+        UserTransactionColumns columns = new UserTransactionColumns();
+        columns.upsert(1L, START, 100L, null);
+        columns.upsert(1L, START, 250L, 5L);
+        columns.remove(2L, START);
+
+        assertEquals(1, columns.size());
+        assertEquals(new AnalyticsSummary(1, 250L), columns.summarize(null, null, 5L));
+        assertTrue(columns.containsBudget(5L));
+    }
+
+    @Test
+    void sameDayRows_AreFoundByIdWhateverTheInsertOrder() {
+        Random random = new Random(11);
+        UserTransactionColumns columns = new UserTransactionColumns();
+        Map<Long, Row> rows = new HashMap<>();
+        // Загрузка: все строки одного дня по возрастанию id, как из БД
+        for (long id = 2; id <= 20_000; id += 2) {
+            Row row = new Row(id, START, id, id % 3 == 0 ? null : id % 7);
+            rows.put(id, row);
+            columns.append(row.id(), row.date(), row.amount(), row.budgetId());
+        }
+        // Повтор и строка не по порядку тоже применяются как upsert
+        columns.append(10L, START, 10L, 3L);
+        rows.put(10L, new Row(10L, START, 10L, 3L));
+        columns.append(1L, START, 1L, null);
+        rows.put(1L, new Row(1L, START, 1L, null));
+        // Изменения: новые id между существующими, обновления и удаления в случайном порядке
+        for (int i = 0; i < 5_000; i++) {
+            long id = 1 + random.nextInt(20_001);
+            if (random.nextInt(3) == 0) {
+                rows.remove(id);
+                columns.remove(id, START);
+            } else {
+                Row row = new Row(id, START, random.nextInt(1_000), random.nextBoolean() ? null : 4L);
+                rows.put(id, row);
+                columns.upsert(row.id(), row.date(), row.amount(), row.budgetId());
+            }
+        }
+
+        assertEquals(rows.size(), columns.size());
+        assertEquals(naiveSummary(rows.values(), null, null, row -> true), columns.summarize(null, null, null));
+        assertEquals(naiveSummary(rows.values(), null, null, row -> Objects.equals(row.budgetId(), 4L)),
+            columns.summarize(null, null, 4L));
+    }
+
+    @Test
+    void totalsByPeriod_IncludesEmptyPeriods() {
+        UserTransactionColumns columns = new UserTransactionColumns();
+        columns.upsert(1L, LocalDate.of(2024, 1, 10), 100L, null);
+        columns.upsert(2L, LocalDate.of(2024, 3, 5), 300L, null);
+
+        assertEquals(List.of(
+                new PeriodTotal(LocalDate.of(2024, 1, 1), 1, 100L),
+                new PeriodTotal(LocalDate.of(2024, 2, 1), 0, 0L),
+                new PeriodTotal(LocalDate.of(2024, 3, 1), 1, 300L)),
+            columns.totalsByPeriod(null, null, AnalyticsPeriod.MONTH));
+    }
+
+    private static Row randomRow(Random random, long id) {
+        Long budgetId = random.nextInt(5) == 0 ? null : (long) (1 + random.nextInt(10));
+        return new Row(id, START.plusDays(random.nextInt(3 * 365)), random.nextInt(100_000), budgetId);
+    }
+
+    private static AnalyticsSummary naiveSummary(Iterable<Row> rows, LocalDate from, LocalDate to,
+                                                 Predicate<Row> filter) {
+        long count = 0;
+        long total = 0;
+        for (Row row : rows) {
+            boolean inRange = (from == null || !row.date().isBefore(from)) && (to == null || !row.date().isAfter(to));
+            if (inRange && filter.test(row)) {
+                count++;
+                total += row.amount();
+            }
+        }
+        return new AnalyticsSummary(count, total);
+    }
+}
@@ -0,0 +1,78 @@
+package com.myfinance.financetracker.benchmark;
+
+import com.myfinance.financetracker.analytics.UserTransactionColumns;
+import com.myfinance.financetracker.dto.AnalyticsSummary;
+import com.myfinance.financetracker.dto.BudgetTotal;
+import com.myfinance.financetracker.dto.PeriodTotal;
+import com.myfinance.financetracker.model.enums.AnalyticsPeriod;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Время агрегатов аналитики по истории одного пользователя, уже загруженной в UserTransactionColumns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarAnalyticsBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+
+    @Param({"100000", "1000000"})
+    private int transactions;
+
+    private UserTransactionColumns columns;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        columns = new UserTransactionColumns(transactions);
+        int days = 10 * 365;
+        // Строки добавляются в порядке дат, как при загрузке из БД
+        for (int i = 0; i < transactions; i++) {
+            LocalDate date = START.plusDays((long) i * days / transactions);
+            Long budgetId = random.nextInt(5) == 0 ? null : (long) (1 + random.nextInt(20));
+            columns.append(i + 1, date, random.nextInt(1_000_000), budgetId);
+        }
+        from = START.plusYears(2);
+        to = START.plusYears(9).minusDays(1);
+    }
+
+    @Benchmark
+    public AnalyticsSummary sum() {
+        return columns.summarize(from, to, null);
+    }
+
+    @Benchmark
+    public AnalyticsSummary sumForBudget() {
+        return columns.summarize(from, to, 7L);
+    }
+
+    @Benchmark
+    public List<BudgetTotal> groupByBudget() {
+        return columns.totalsByBudget(from, to);
+    }
+
+    @Benchmark
+    public List<PeriodTotal> groupByMonth() {
+        return columns.totalsByPeriod(from, to, AnalyticsPeriod.MONTH);
+    }
+}
@@ -0,0 +1,76 @@
+package com.myfinance.financetracker.benchmark;
+
+import com.myfinance.financetracker.model.enums.SearchMode;
+import com.myfinance.financetracker.search.UserDescriptionIndex;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Поиск по описаниям через триграммный индекс против перебора всех описаний пользователя.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DescriptionSearchBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+    private static final String[] MERCHANTS = {"Starbucks", "Пятёрочка", "Uber", "Яндекс Такси", "Amazon",
+        "Spotify", "Аптека Ригла", "Shell", "ВкусВилл", "Netflix", "Leroy Merlin", "Перекрёсток"};
+
+    @Param({"1000000"})
+    private int transactions;
+
+    private UserDescriptionIndex index;
+    private String[] descriptions;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new UserDescriptionIndex();
+        descriptions = new String[transactions];
+        for (int i = 0; i < transactions; i++) {
+            // Мерчант и номер чека: большинство триграмм встречаются редко, как в реальных описаниях
+            String description = MERCHANTS[random.nextInt(MERCHANTS.length)] + " #" + random.nextInt(1_000_000);
+            descriptions[i] = description;
+            index.upsert(i + 1, START.plusDays(i % 3650), null, description);
+        }
+    }
+
+    @Benchmark
+    public List<Long> selectiveSubstring() {
+        return index.search("#12345", SearchMode.SUBSTRING, 50);
+    }
+
+    @Benchmark
+    public List<Long> merchantPrefix() {
+        return index.search("такси", SearchMode.PREFIX, 50);
+    }
+
+    @Benchmark
+    public int selectiveSubstringScan() {
+        int found = 0;
+        for (String description : descriptions) {
+            if (description.toLowerCase(Locale.ROOT).contains("#12345")) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
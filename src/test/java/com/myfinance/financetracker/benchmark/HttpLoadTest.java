@@ -0,0 +1,116 @@
+package com.myfinance.financetracker.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Нагрузочный тест запущенного экземпляра: N клиентов в замкнутом цикле (следующий запрос -
+ * после ответа на предыдущий) шлют GET на один URL. После прогрева печатает пропускную
+ * способность, задержки p50/p99/max и число ошибок.
+ *
+ * <p>Для сравнения режимов один и тот же прогон выполняется против экземпляра с платформенными
+ * потоками и против экземпляра с профилем virtual-threads (сборка mvn -Pjava21), на одной БД
+ * и одних данных. Клиент должен работать на другой машине или ядрах, чем сервер.
+ *
+ * <p>Аргументы: url [clients=1000] [seconds=60] [warmupSeconds=15].
+ */
+public final class HttpLoadTest {
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final long warmupEndsAt;
+    private final long endsAt;
+    private final CountDownLatch finished;
+
+    private final ReentrantLock latencyLock = new ReentrantLock();
+    private long[] latencies = new long[1 << 16];
+    private int latencyCount;
+    private final AtomicLong errors = new AtomicLong();
+
+    private HttpLoadTest(URI uri, int clients, Duration duration, Duration warmup) {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        this.request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        this.warmupEndsAt = System.nanoTime() + warmup.toNanos();
+        this.endsAt = warmupEndsAt + duration.toNanos();
+        this.finished = new CountDownLatch(clients);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: HttpLoadTest url [clients] [seconds] [warmupSeconds]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+        Duration warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 15);
+
+        HttpLoadTest test = new HttpLoadTest(uri, clients, duration, warmup);
+        System.out.printf("GET %s, %d clients, warmup %ds, measurement %ds%n",
+            uri, clients, warmup.toSeconds(), duration.toSeconds());
+        for (int i = 0; i < clients; i++) {
+            test.send();
+        }
+        test.finished.await();
+        test.report(clients, duration);
+    }
+
+    // Следующий запрос клиента отправляется из обработчика ответа на предыдущий
+    private void send() {
+        long started = System.nanoTime();
+        if (started >= endsAt) {
+            finished.countDown();
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, failure) -> {
+                long completed = System.nanoTime();
+                if (started >= warmupEndsAt && completed <= endsAt) {
+                    if (failure != null || response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    } else {
+                        record(completed - started);
+                    }
+                }
+                send();
+            });
+    }
+
+    private void record(long latencyNanos) {
+        latencyLock.lock();
+        try {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencyCount * 2);
+            }
+            latencies[latencyCount++] = latencyNanos;
+        } finally {
+            latencyLock.unlock();
+        }
+    }
+
+    private void report(int clients, Duration duration) {
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        System.out.printf("clients=%d requests=%d errors=%d throughput=%.1f req/s%n",
+            clients, sorted.length, errors.get(), sorted.length / (double) duration.toSeconds());
+        if (sorted.length > 0) {
+            System.out.printf("latency ms: p50=%.1f p99=%.1f max=%.1f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
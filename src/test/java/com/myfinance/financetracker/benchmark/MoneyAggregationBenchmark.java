@@ -0,0 +1,95 @@
+package com.myfinance.financetracker.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение агрегации сумм на {@code Double} (прежнее представление) и на {@code long} в минимальных единицах.
+ * Свёртка по бюджетам повторяет TransactionServiceImpl.createTransactionsBulk.
+ * Аллокации видны с профилировщиком: {@code -Djmh.args="-prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    @Param({"10000"})
+    private int transactions;
+
+    @Param({"20"})
+    private int budgets;
+
+    private Long[] budgetIds;
+    private Double[] boxedAmounts;
+    private long[] minorAmounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Long[] ids = new Long[budgets];
+        for (int i = 0; i < budgets; i++) {
+            ids[i] = 1000L + i; // id сущностей уже упакованы, как у Budget.getId()
+        }
+        budgetIds = new Long[transactions];
+        boxedAmounts = new Double[transactions];
+        minorAmounts = new long[transactions];
+        for (int i = 0; i < transactions; i++) {
+            long cents = random.nextInt(1_000_000);
+            budgetIds[i] = ids[random.nextInt(budgets)];
+            boxedAmounts[i] = cents / 100.0;
+            minorAmounts[i] = cents;
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Double> foldSpentBoxedDouble() {
+        Map<Long, Double> spentDeltas = new HashMap<>();
+        for (int i = 0; i < transactions; i++) {
+            spentDeltas.merge(budgetIds[i], boxedAmounts[i], Double::sum);
+        }
+        return spentDeltas;
+    }
+
+    @Benchmark
+    public Map<Long, long[]> foldSpentMinorUnits() {
+        Map<Long, long[]> spentDeltas = new HashMap<>();
+        for (int i = 0; i < transactions; i++) {
+            spentDeltas.computeIfAbsent(budgetIds[i], id -> new long[1])[0] += minorAmounts[i];
+        }
+        return spentDeltas;
+    }
+
+    @Benchmark
+    public Double accumulateBoxedDouble() {
+        Double spent = 0.0;
+        for (int i = 0; i < transactions; i++) {
+            spent = spent + boxedAmounts[i];
+        }
+        return spent;
+    }
+
+    @Benchmark
+    public long accumulateMinorUnits() {
+        long spent = 0;
+        for (int i = 0; i < transactions; i++) {
+            spent += minorAmounts[i];
+        }
+        return spent;
+    }
+}
@@ -0,0 +1,85 @@
+package com.myfinance.financetracker.benchmark;
+
+import com.myfinance.financetracker.service.impl.VisitCounterServiceImpl;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Пропускная способность счётчика посещений: прежняя схема (synchronized-метод и AtomicLong)
+ * против VisitCounterServiceImpl (LongAdder без блокировок). Масштабирование видно при
+ * запуске с разным числом потоков: {@code -Djmh.args="-t 1"}, {@code "-t 4"}, {@code "-t 16"}.
+ * Все потоки бьют в несколько горячих URL, как запросы к одним и тем же эндпоинтам.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisitCounterBenchmark {
+
+    @Param({"4"})
+    private int urls;
+
+    private String[] paths;
+    private SynchronizedCounters synchronizedCounters;
+    private VisitCounterServiceImpl stripedCounters;
+
+    @Setup
+    public void setUp() {
+        paths = new String[urls];
+        for (int i = 0; i < urls; i++) {
+            paths[i] = "/api/budgets/" + i;
+        }
+        synchronizedCounters = new SynchronizedCounters();
+        // Репозиторий при увеличении не используется
+        stripedCounters = new VisitCounterServiceImpl(null, Duration.ofSeconds(5), 1024);
+        for (String path : paths) {
+            synchronizedCounters.increment(path);
+            stripedCounters.incrementVisitCount(path);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        String pick(String[] paths) {
+            next = next + 1 == paths.length ? 0 : next + 1;
+            return paths[next];
+        }
+    }
+
+    @Benchmark
+    public void synchronizedIncrement(Cursor cursor) {
+        synchronizedCounters.increment(cursor.pick(paths));
+    }
+
+    @Benchmark
+    public void stripedIncrement(Cursor cursor) {
+        stripedCounters.incrementVisitCount(cursor.pick(paths));
+    }
+
+    // Прежняя реализация без обращения к БД: один монитор на все URL
+    private static final class SynchronizedCounters {
+        private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+        synchronized void increment(String url) {
+            counters.computeIfAbsent(url, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
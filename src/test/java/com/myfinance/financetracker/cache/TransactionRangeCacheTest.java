@@ -0,0 +1,106 @@
+package com.myfinance.financetracker.cache;
+
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.dto.TransactionSummary;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
+import com.myfinance.financetracker.event.TransactionsPurgedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionRangeCacheTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Supplier<List<TransactionSummary>> loader(int rows) {
+        return () -> {
+            loads.incrementAndGet();
+            List<TransactionSummary> result = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                result.add(new TransactionSummary((long) i, 100L, FROM, "row", (Long) null));
+            }
+            return result;
+        };
+    }
+
+    private static TransactionChangedEvent savedFor(Long userId) {
+        return new TransactionChangedEvent(List.of(),
+            List.of(new TransactionSnapshot(1L, userId, null, FROM, 100L, null)));
+    }
+
+    @Test
+    void get_RepeatedRange_IsLoadedOnce() {
+        TransactionRangeCache cache = new TransactionRangeCache(1000);
+
+        List<TransactionSummary> first = cache.get(1L, FROM, TO, loader(3));
+        List<TransactionSummary> second = cache.get(1L, FROM, TO, loader(3));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        cache.get(1L, FROM, TO.plusDays(1), loader(3));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void change_InvalidatesOnlyThatUser() {
+        TransactionRangeCache cache = new TransactionRangeCache(1000);
+        cache.get(1L, FROM, TO, loader(1));
+        cache.get(2L, FROM, TO, loader(1));
+
+        cache.onTransactionChanged(savedFor(1L));
+
+        cache.get(1L, FROM, TO, loader(1));
+        cache.get(2L, FROM, TO, loader(1));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void userPurge_InvalidatesUser_BudgetPurge_InvalidatesEveryone() {
+        TransactionRangeCache cache = new TransactionRangeCache(1000);
+        cache.get(1L, FROM, TO, loader(1));
+        cache.get(2L, FROM, TO, loader(1));
+
+        cache.onTransactionsPurged(TransactionsPurgedEvent.forUser(2L));
+        cache.get(1L, FROM, TO, loader(1));
+        cache.get(2L, FROM, TO, loader(1));
+        assertEquals(3, loads.get());
+
+        cache.onTransactionsPurged(TransactionsPurgedEvent.forBudget(5L));
+        cache.get(1L, FROM, TO, loader(1));
+        cache.get(2L, FROM, TO, loader(1));
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void loadStartedBeforeChange_IsNotServedAfterIt() {
+        TransactionRangeCache cache = new TransactionRangeCache(1000);
+        // Изменение коммитится, пока идёт чтение из БД: прочитанный результат может быть старым
+        cache.get(1L, FROM, TO, () -> {
+            cache.onTransactionChanged(savedFor(1L));
+            return loader(1).get();
+        });
+
+        cache.get(1L, FROM, TO, loader(1));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void eviction_IsWeightedByRowCount() {
+        TransactionRangeCache cache = new TransactionRangeCache(100);
+        for (int day = 0; day < 10; day++) {
+            cache.get(1L, FROM.plusDays(day), TO, loader(50));
+        }
+        cache.get(1L, FROM, TO, loader(0));
+
+        assertTrue(cache.size() <= 3, "size " + cache.size());
+    }
+}
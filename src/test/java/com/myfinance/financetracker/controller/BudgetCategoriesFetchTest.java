@@ -0,0 +1,98 @@
+package com.myfinance.financetracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.myfinance.financetracker.dto.IdCursor;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Category;
+import com.myfinance.financetracker.repository.BudgetRepository;
+import com.myfinance.financetracker.repository.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 5 000 бюджетов с категориями обходятся страницами, и каждая страница отдаётся двумя SQL-запросами.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BudgetCategoriesFetchTest {
+
+    private static final int BUDGETS = 5_000;
+    private static final int PAGE_SIZE = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void listingBudgetsWithCategories_IsTwoStatementsPerPage() throws Exception {
+        List<Category> categories = categoryRepository.saveAll(List.of(
+            new Category("fetch-a"), new Category("fetch-b"), new Category("fetch-c")));
+        // Категории привязываются в одной транзакции с сохранением бюджетов, пока они managed
+        Long firstId = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Category> managed = categoryRepository.findAllById(
+                categories.stream().map(Category::getId).toList());
+            List<Budget> budgets = new ArrayList<>();
+            for (int i = 0; i < BUDGETS; i++) {
+                Budget budget = new Budget("fetch" + i, 1_000L * i);
+                budget.setCategories(new ArrayList<>(managed.subList(0, 1 + i % managed.size())));
+                budgets.add(budget);
+            }
+            return budgetRepository.saveAll(budgets).get(0).getId();
+        });
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Обход начинается прямо перед созданными бюджетами, чтобы не зависеть от данных других классов
+        String cursor = new IdCursor(firstId - 1).encode();
+        List<String> names = new ArrayList<>();
+        String firstPage = null;
+        while (cursor != null) {
+            statistics.clear();
+            String body = mockMvc.perform(get("/api/budgets")
+                    .param("include", "categories")
+                    .param("limit", String.valueOf(PAGE_SIZE))
+                    .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+            assertEquals(2, statistics.getPrepareStatementCount());
+            names.addAll(JsonPath.read(body, "$.items[*].name"));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            if (firstPage == null) {
+                firstPage = body;
+            }
+        }
+
+        assertEquals(BUDGETS, names.size());
+        assertEquals("fetch" + (BUDGETS - 1), names.get(BUDGETS - 1));
+        assertTrue(firstPage.contains("\"categories\":[{\"id\":" + categories.get(0).getId() + ",\"name\":\"fetch-a\"}"));
+    }
+}
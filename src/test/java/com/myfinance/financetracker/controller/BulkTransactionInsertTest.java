@@ -0,0 +1,92 @@
+package com.myfinance.financetracker.controller;
+
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.service.BudgetService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Число SQL-запросов и JDBC-батчей массовой загрузки: строки уходят батчами по 1000,
+ * id выделяются блоками того же размера, бюджет читается и обновляется по одному разу.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session.events.auto="
+    + "com.myfinance.financetracker.controller.BulkTransactionInsertTest$BatchCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkTransactionInsertTest {
+
+    private static final int ROWS = 2500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    // Hibernate создаёт слушатель для каждой сессии, поэтому счётчик общий
+    public static class BatchCounter implements SessionEventListener {
+
+        static final AtomicInteger BATCHES = new AtomicInteger();
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            BATCHES.incrementAndGet();
+        }
+    }
+
+    @Test
+    void postBulk_InsertsRowsInBatchesOfThousand() throws Exception {
+        Budget budget = budgetService.createOrUpdateBudget(new Budget("bulk", 1_000_000_00L), null);
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < ROWS; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"amount\":1.00,\"date\":\"2024-01-").append(String.format("%02d", i % 28 + 1))
+                .append("\",\"description\":\"row ").append(i)
+                .append("\",\"budget\":{\"id\":").append(budget.getId()).append("}}");
+        }
+        body.append(']');
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BatchCounter.BATCHES.set(0);
+
+        mockMvc.perform(post("/api/transactions/bulk").contentType(MediaType.APPLICATION_JSON).content(body.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(ROWS))
+            .andExpect(jsonPath("$[0].budget.id").value(budget.getId()))
+            .andExpect(jsonPath("$[0].budget.name").doesNotExist());
+
+        // Строки транзакций и одна запись журнала изменений бюджета
+        assertEquals(ROWS + 1, statistics.getEntityInsertCount());
+        assertEquals(3, BatchCounter.BATCHES.get());
+        // Чтение бюджетов, INSERT транзакций, UPDATE spent, UPSERT месячной сводки, запись журнала
+        // и по значению последовательности на блок из 1000 id (на новой последовательности - ещё одно)
+        assertTrue(statistics.getPrepareStatementCount() <= 5 + 4,
+            "prepared statements: " + statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/api/budgets/" + budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.spent").value(ROWS));
+    }
+}
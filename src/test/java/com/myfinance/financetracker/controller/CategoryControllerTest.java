@@ -1,8 +1,11 @@
 package com.myfinance.financetracker.controller;
 
+import com.myfinance.financetracker.dto.CategorySummary;
+import com.myfinance.financetracker.dto.CursorPage;
 import com.myfinance.financetracker.exception.ResourceNotFoundException;
 import com.myfinance.financetracker.model.Category;
 import com.myfinance.financetracker.service.CategoryService;
+import com.myfinance.financetracker.service.ResourceVersionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,6 +13,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,16 +30,23 @@ class CategoryControllerTest {
     @Mock
     private CategoryService categoryService;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @InjectMocks
     private CategoryController categoryController;
 
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
     @Test
     void getCategoryById_ShouldReturnCategory() {
         Category category = new Category();
         category.setId(1L);
         when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(category));
 
-        ResponseEntity<Category> response = categoryController.getCategoryById(1L);
+        ResponseEntity<Category> response = categoryController.getCategoryById(1L, request());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1L, response.getBody().getId());
@@ -44,19 +57,19 @@ class CategoryControllerTest {
         when(categoryService.getCategoryById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
-            categoryController.getCategoryById(1L);
+            categoryController.getCategoryById(1L, request());
         });
     }
 
     @Test
     void getAllCategories_ShouldReturnAllCategories() {
-        List<Category> categories = Arrays.asList(new Category(), new Category());
-        when(categoryService.getAllCategories()).thenReturn(categories);
+        List<CategorySummary> categories = Arrays.asList(new CategorySummary(1L, "Food"), new CategorySummary(2L, "Travel"));
+        when(categoryService.getAllCategories(null, 50)).thenReturn(new CursorPage<>(categories, null));
 
-        ResponseEntity<List<Category>> response = categoryController.getAllCategories();
+        ResponseEntity<CursorPage<CategorySummary>> response = categoryController.getAllCategories(null, 50, request());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().size());
+        assertEquals(2, response.getBody().items().size());
     }
 
     @Test
@@ -95,4 +108,32 @@ class CategoryControllerTest {
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCategoryById_MatchingETag_ReturnsNotModifiedWithoutLoading() {
+        when(resourceVersionService.getCategoryTag(1L)).thenReturn("\"c3\"");
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/categories/1");
+        servletRequest.addHeader("If-None-Match", "\"c3\"");
+
+        ResponseEntity<Category> response = categoryController.getCategoryById(1L,
+            new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"c3\"", response.getHeaders().getETag());
+        verifyNoInteractions(categoryService);
+    }
+
+    @Test
+    void getAllCategories_StaleETag_ReturnsPageWithCurrentETag() {
+        when(resourceVersionService.getCategoryListTag()).thenReturn("\"cl1.5\"");
+        when(categoryService.getAllCategories(null, 50)).thenReturn(new CursorPage<>(List.of(), null));
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/categories");
+        servletRequest.addHeader("If-None-Match", "\"cl1.4\"");
+
+        ResponseEntity<CursorPage<CategorySummary>> response = categoryController.getAllCategories(null, 50,
+            new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"cl1.5\"", response.getHeaders().getETag());
+    }
+}
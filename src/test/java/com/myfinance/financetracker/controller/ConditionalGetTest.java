@@ -0,0 +1,142 @@
+package com.myfinance.financetracker.controller;
+
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Category;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.CategoryService;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Условные GET: повтор с актуальным ETag отвечает 304 без SQL, после изменения - 200 с новым тегом.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    private Statistics statistics;
+    private Category category;
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = categoryService.createOrUpdateCategory(new Category("etag"));
+        budget = budgetService.createOrUpdateBudgetWithCategoryIds(new Budget("etag", 50_000L), List.of(category.getId()));
+    }
+
+    private String etagOf(String url, String... params) throws Exception {
+        var request = get(url);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        String etag = mockMvc.perform(request).andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        return etag;
+    }
+
+    @Test
+    void budgetById_UnchangedIsNotModifiedWithoutQueries() throws Exception {
+        String etag = etagOf("/api/budgets/" + budget.getId());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/budgets/{id}", budget.getId()).header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void budgetById_NewTransactionChangesETag() throws Exception {
+        String etag = etagOf("/api/budgets/" + budget.getId());
+        Budget reference = new Budget();
+        reference.setId(budget.getId());
+        User user = userService.createOrUpdateUser(new User("etag", "etag@example.com"));
+        transactionService.createOrUpdateTransaction(
+            new Transaction(1_000L, LocalDate.parse("2024-04-01"), "etag", reference, user));
+
+        String changed = mockMvc.perform(get("/api/budgets/{id}", budget.getId()).header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void budgetWithCategories_CategoryRenameChangesETag() throws Exception {
+        String etag = etagOf("/api/budgets/" + budget.getId(), "include", "categories");
+        category.setName("etag renamed");
+        categoryService.createOrUpdateCategory(category);
+
+        mockMvc.perform(get("/api/budgets/{id}", budget.getId()).param("include", "categories")
+                .header("If-None-Match", etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void categoryList_UnchangedIsNotModifiedAndNewCategoryChangesETag() throws Exception {
+        String etag = etagOf("/api/categories");
+
+        statistics.clear();
+        mockMvc.perform(get("/api/categories").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        categoryService.createOrUpdateCategory(new Category("etag new"));
+        mockMvc.perform(get("/api/categories").header("If-None-Match", etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void categoryById_UpdateChangesETag() throws Exception {
+        String etag = etagOf("/api/categories/" + category.getId());
+        mockMvc.perform(get("/api/categories/{id}", category.getId()).header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        category.setName("etag updated");
+        categoryService.createOrUpdateCategory(category);
+
+        mockMvc.perform(get("/api/categories/{id}", category.getId()).header("If-None-Match", etag))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,61 @@
+package com.myfinance.financetracker.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Задержки методов контроллеров попадают в таймер с перцентилями и отдаются на /actuator/prometheus.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class ControllerLatencyMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void controllerCalls_AreTimedPerMethodAndOutcome() throws Exception {
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/categories").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+
+        Timer success = meterRegistry.get("finance.controller.latency")
+            .tags("controller", "CategoryController", "method", "getAllCategories", "outcome", "SUCCESS")
+            .timer();
+        Timer error = meterRegistry.get("finance.controller.latency")
+            .tags("controller", "CategoryController", "method", "getAllCategories", "outcome", "ERROR")
+            .timer();
+        assertEquals(2, success.count());
+        assertEquals(1, error.count());
+        assertEquals(3, success.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void prometheusEndpoint_ExposesPercentilesAndMax() throws Exception {
+        mockMvc.perform(get("/api/users")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(
+                "finance_controller_latency_seconds{controller=\"UserController\",method=\"getAllUsers\",outcome=\"SUCCESS\",quantile=\"0.99\"}")))
+            .andExpect(content().string(containsString("finance_controller_latency_seconds_max{")));
+    }
+}
@@ -0,0 +1,204 @@
+package com.myfinance.financetracker.controller;
+
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Category;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.CategoryService;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Число SQL-запросов на HTTP-запрос при выключенном open-in-view: списки строятся одним запросом
+ * проекции, независимо от числа строк и связей, а сериализация не подгружает ленивые связи.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListEndpointsQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Statistics statistics;
+    private Budget budget;
+    private User user;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            categoryIds.add(categoryService.createOrUpdateCategory(new Category("listed" + i)).getId());
+        }
+        for (int i = 0; i < 3; i++) {
+            budget = budgetService.createOrUpdateBudgetWithCategoryIds(new Budget("listed" + i, 10_000L), categoryIds);
+        }
+        Budget budgetReference = new Budget();
+        budgetReference.setId(budget.getId());
+        for (int i = 0; i < 3; i++) {
+            user = userService.createOrUpdateUser(new User("listed" + i, "listed" + i + "@example.com"));
+            transaction = transactionService.createOrUpdateTransaction(
+                new Transaction(100L, LocalDate.parse("2024-01-01"), "listed", budgetReference, user));
+        }
+    }
+
+    // Первый вызов заполняет кэши (второго уровня, версий), поэтому считаются
+    // запросы только повторного вызова
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        statistics.clear();
+        return mockMvc.perform(request);
+    }
+
+    @Test
+    void getAllUsers_IsOneStatementWithoutTransactions() throws Exception {
+        perform(get("/api/users"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].username").exists())
+            .andExpect(jsonPath("$.items[0].transactions").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllBudgets_IsOneStatementWithoutCategories() throws Exception {
+        perform(get("/api/budgets"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].remaining").isNumber())
+            .andExpect(jsonPath("$.items[0].categories").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getBudgetsByLimit_IsOneStatement() throws Exception {
+        perform(get("/api/budgets/by-limit").param("limit", "100.00"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].limitAmount").isNumber());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllCategories_IsOneStatementWithoutBudgets() throws Exception {
+        perform(get("/api/categories"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].name").exists())
+            .andExpect(jsonPath("$.items[0].budgets").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getBudgetById_WithoutInclude_IsOneStatement() throws Exception {
+        perform(get("/api/budgets/{id}", budget.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.categories").value(nullValue()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getBudgetById_IncludeCategories_LoadsThemInTheSameStatement() throws Exception {
+        perform(get("/api/budgets/{id}", budget.getId()).param("include", "categories"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.categories.length()").value(3));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getBudgetsByLimit_IncludeCategories_IsTwoStatements() throws Exception {
+        perform(get("/api/budgets/by-limit").param("limit", "100.00").param("include", "categories"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].categories").isArray());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllCategories_InvalidCursor_IsRejected() throws Exception {
+        mockMvc.perform(get("/api/categories").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllBudgets_UnknownInclude_IsRejected() throws Exception {
+        mockMvc.perform(get("/api/budgets").param("include", "transactions"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTransactionById_WritesUnloadedBudgetAsId() throws Exception {
+        perform(get("/api/transactions/{id}", transaction.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.budget.id").value(budget.getId()))
+            .andExpect(jsonPath("$.budget.name").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getTransactionsByUserAndDate_RepeatIsServedFromRangeCacheWithBudgetAsId() throws Exception {
+        perform(get("/api/transactions/by-user-and-date")
+            .param("userId", user.getId().toString())
+            .param("startDate", "2024-01-01")
+            .param("endDate", "2024-01-31"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(transaction.getId()))
+            .andExpect(jsonPath("$[0].amount").value(1.0))
+            .andExpect(jsonPath("$[0].budget.id").value(budget.getId()))
+            .andExpect(jsonPath("$[0].budget.name").doesNotExist());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getUserById_DoesNotLoadTransactions() throws Exception {
+        perform(get("/api/users/{id}", user.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value(user.getUsername()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
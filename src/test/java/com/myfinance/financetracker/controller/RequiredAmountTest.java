@@ -0,0 +1,61 @@
+package com.myfinance.financetracker.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Отсутствующая или null сумма в теле запроса отклоняется с 400, а не сохраняется нулём.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequiredAmountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void createTransaction_WithoutAmount_IsRejected() throws Exception {
+        mockMvc.perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"date\":\"2024-01-01\",\"description\":\"coffee\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.amount").value("Amount is required"));
+    }
+
+    @Test
+    void createTransaction_NullAmount_IsRejected() throws Exception {
+        mockMvc.perform(post("/api/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\":null,\"date\":\"2024-01-01\",\"description\":\"coffee\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.amount").value("Amount is required"));
+    }
+
+    @Test
+    void createBudget_WithoutLimitAmount_IsRejected() throws Exception {
+        mockMvc.perform(post("/api/budgets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"food\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.limitAmount").value("Limit amount is required"));
+    }
+
+    @Test
+    void createBudget_NullLimitAmount_IsRejected() throws Exception {
+        mockMvc.perform(post("/api/budgets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"food\",\"limitAmount\":null}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.limitAmount").value("Limit amount is required"));
+    }
+}
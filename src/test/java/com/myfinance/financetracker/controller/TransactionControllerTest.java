@@ -1,6 +1,11 @@
 package com.myfinance.financetracker.controller;
 
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.TransactionSummary;
 import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.ExportFormat;
+import com.myfinance.financetracker.model.enums.SearchMode;
+import com.myfinance.financetracker.service.TransactionSearchService;
 import com.myfinance.financetracker.service.TransactionService;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -8,9 +13,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -23,6 +33,9 @@ class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionSearchService transactionSearchService;
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -41,13 +54,15 @@ class TransactionControllerTest {
     @Test
     void getTransactionsByDateRange_ShouldReturnFilteredTransactions() {
         List<Transaction> transactions = Arrays.asList(new Transaction(), new Transaction());
-        when(transactionService.getTransactionsByDateRange("2023-01-01", "2023-01-31")).thenReturn(transactions);
+        when(transactionService.getTransactionsByDateRange(LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-31"), null, 50))
+            .thenReturn(new CursorPage<>(transactions, "next"));
 
-        ResponseEntity<List<Transaction>> response =
-            transactionController.getTransactionsByDateRange("2023-01-01", "2023-01-31");
+        ResponseEntity<CursorPage<Transaction>> response =
+            transactionController.getTransactionsByDateRange(LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-31"), null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().size());
+        assertEquals(2, response.getBody().items().size());
+        assertEquals("next", response.getBody().nextCursor());
     }
 
     @Test
@@ -63,14 +78,18 @@ class TransactionControllerTest {
 
     @Test
     void processTransactionsBulk_ShouldReturnProcessedTransactions() {
-        List<Transaction> transactions = Arrays.asList(new Transaction(), new Transaction());
-        when(transactionService.createOrUpdateTransaction(any())).thenReturn(new Transaction());
+        List<Transaction> transactions = Arrays.asList(
+            new Transaction(100L, LocalDate.parse("2023-01-02"), "a", null, null),
+            new Transaction(200L, LocalDate.parse("2023-01-03"), "b", null, null));
+        when(transactionService.createTransactionsBulk(transactions)).thenReturn(transactions);
 
-        ResponseEntity<List<Transaction>> response =
+        ResponseEntity<List<TransactionSummary>> response =
             transactionController.processTransactionsBulk(transactions);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
+        assertEquals(200L, response.getBody().get(1).amount());
+        verify(transactionService, never()).createOrUpdateTransaction(any());
     }
 
     @Test
@@ -78,7 +97,7 @@ class TransactionControllerTest {
         Transaction existing = new Transaction();
         existing.setId(1L);
         Transaction updates = new Transaction();
-        updates.setAmount(100.0);
+        updates.setAmount(10_000L);
 
         when(transactionService.getTransactionById(1L)).thenReturn(Optional.of(existing));
         when(transactionService.createOrUpdateTransaction(existing)).thenReturn(existing);
@@ -86,17 +105,19 @@ class TransactionControllerTest {
         ResponseEntity<Transaction> response = transactionController.updateTransaction(1L, updates);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(100.0, response.getBody().getAmount());
+        assertEquals(10_000L, response.getBody().getAmount());
     }
 
     @Test
     void getTransactionsByUserAndDateRange_ShouldReturnFilteredTransactions() {
-        List<Transaction> transactions = Arrays.asList(new Transaction(), new Transaction());
-        when(transactionService.getTransactionsByUserAndDateRange(1L, "2023-01-01", "2023-01-31"))
+        List<TransactionSummary> transactions = List.of(
+            new TransactionSummary(1L, 100L, LocalDate.parse("2023-01-02"), "a", (Long) null),
+            new TransactionSummary(2L, 200L, LocalDate.parse("2023-01-03"), "b", 5L));
+        when(transactionService.getTransactionsByUserAndDateRange(1L, LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-31")))
             .thenReturn(transactions);
 
-        ResponseEntity<List<Transaction>> response =
-            transactionController.getTransactionsByUserAndDateRange(1L, "2023-01-01", "2023-01-31");
+        ResponseEntity<List<TransactionSummary>> response =
+            transactionController.getTransactionsByUserAndDateRange(1L, LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-31"));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
@@ -110,4 +131,36 @@ class TransactionControllerTest {
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportTransactions_ShouldStreamThroughService() throws IOException {
+        LocalDate start = LocalDate.parse("2023-01-01");
+        LocalDate end = LocalDate.parse("2023-01-31");
+
+        ResponseEntity<StreamingResponseBody> response =
+            transactionController.exportTransactions(start, end, ExportFormat.CSV);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=transactions.csv",
+            response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(transactionService).exportTransactions(start, end, ExportFormat.CSV, out);
+    }
+
+    @Test
+    void searchTransactions_ShouldReturnMatches() {
+        Transaction transaction = new Transaction();
+        transaction.setId(3L);
+        when(transactionSearchService.searchTransactions(1L, "coffee", SearchMode.PREFIX, 20))
+            .thenReturn(List.of(transaction));
+
+        ResponseEntity<List<Transaction>> response =
+            transactionController.searchTransactions(1L, "coffee", SearchMode.PREFIX, 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(transaction), response.getBody());
+    }
+}
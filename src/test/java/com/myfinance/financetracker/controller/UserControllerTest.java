@@ -1,5 +1,9 @@
 package com.myfinance.financetracker.controller;
 
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.UserAmountMatch;
+import com.myfinance.financetracker.dto.UserSummary;
+import com.myfinance.financetracker.dto.UserStats;
 import com.myfinance.financetracker.exception.ResourceNotFoundException;
 import com.myfinance.financetracker.model.User;
 import com.myfinance.financetracker.service.UserService;
@@ -11,6 +15,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -51,24 +57,24 @@ class UserControllerTest {
 
     @Test
     void getAllUsers_ShouldReturnUsersList() {
-        User user1 = new User();
-        User user2 = new User();
-        when(userService.getAllUsers()).thenReturn(Arrays.asList(user1, user2));
+        UserSummary user1 = new UserSummary(1L, "user1", "user1@example.com");
+        UserSummary user2 = new UserSummary(2L, "user2", "user2@example.com");
+        when(userService.getAllUsers(null, 50)).thenReturn(new CursorPage<>(Arrays.asList(user1, user2), null));
 
-        ResponseEntity<List<User>> response = userController.getAllUsers();
+        ResponseEntity<CursorPage<UserSummary>> response = userController.getAllUsers(null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().size());
+        assertEquals(2, response.getBody().items().size());
     }
 
     @Test
     void getAllUsers_ShouldReturnEmptyList_WhenNoUsersExist() {
-        when(userService.getAllUsers()).thenReturn(Collections.emptyList());
+        when(userService.getAllUsers(null, 50)).thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
-        ResponseEntity<List<User>> response = userController.getAllUsers();
+        ResponseEntity<CursorPage<UserSummary>> response = userController.getAllUsers(null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().isEmpty());
+        assertTrue(response.getBody().items().isEmpty());
     }
 
     @Test
@@ -124,25 +130,39 @@ class UserControllerTest {
     }
 
     @Test
-    void getUsersByTransactionAmount_ShouldReturnUsersList() {
-        User user1 = new User();
-        User user2 = new User();
-        when(userService.getUsersByTransactionAmount(100.0)).thenReturn(Arrays.asList(user1, user2));
+    void getUsersByTransactionAmount_ShouldConvertRangeToMinorUnits() {
+        CursorPage<UserAmountMatch> page = new CursorPage<>(
+            List.of(new UserAmountMatch(1L, "user1", "user1@example.com", 2)), null);
+        when(userService.getUsersByTransactionAmountRange(10_000L, 25_050L, null, 50)).thenReturn(page);
 
-        ResponseEntity<List<User>> response = userController.getUsersByTransactionAmount(100.0);
+        ResponseEntity<CursorPage<UserAmountMatch>> response = userController.getUsersByTransactionAmount(
+            new BigDecimal("100.00"), new BigDecimal("250.50"), null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().size());
+        assertEquals(page, response.getBody());
     }
 
     @Test
-    void getUsersByTransactionAmount_ShouldReturnEmptyList_WhenNoUsersFound() {
-        when(userService.getUsersByTransactionAmount(100.0)).thenReturn(Collections.emptyList());
+    void getUsersByTransactionAmount_ShouldUseOpenBounds_WhenRangeOmitted() {
+        when(userService.getUsersByTransactionAmountRange(0L, Long.MAX_VALUE, null, 50))
+            .thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
-        ResponseEntity<List<User>> response = userController.getUsersByTransactionAmount(100.0);
+        ResponseEntity<CursorPage<UserAmountMatch>> response =
+            userController.getUsersByTransactionAmount(null, null, null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().isEmpty());
+        assertTrue(response.getBody().items().isEmpty());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getUserStats_ShouldReturnPage() {
+        CursorPage<UserStats> page = new CursorPage<>(
+            List.of(new UserStats(1L, "user1", "user1@example.com", 3, 4500L, LocalDate.parse("2024-02-10"))), "next");
+        when(userService.getUserStats("cursor", 20)).thenReturn(page);
+
+        ResponseEntity<CursorPage<UserStats>> response = userController.getUserStats("cursor", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+}
@@ -0,0 +1,57 @@
+package com.myfinance.financetracker.controller;
+
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.service.UserService;
+import com.myfinance.financetracker.service.VisitCounterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Счётчики посещений ведутся по шаблону маршрута, а конкретные пути - в top-K скетче.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VisitRouteTemplateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private VisitCounterService visitCounterService;
+
+    @Test
+    void requestsWithDifferentIds_AreCountedUnderOneRouteTemplate() throws Exception {
+        User first = userService.createOrUpdateUser(new User("routed1", "routed1@example.com"));
+        User second = userService.createOrUpdateUser(new User("routed2", "routed2@example.com"));
+        long before = visitCounterService.getVisitCount("/api/users/{id}");
+
+        mockMvc.perform(get("/api/users/{id}", first.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/{id}", first.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/{id}", second.getId())).andExpect(status().isOk());
+
+        assertEquals(before + 3, visitCounterService.getVisitCount("/api/users/{id}"));
+        assertEquals(0, visitCounterService.getVisitCount("/api/users/" + first.getId()));
+        mockMvc.perform(get("/api/visits/raw-top").param("k", "1000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.path == '/api/users/" + first.getId() + "')].count").value(2));
+    }
+
+    @Test
+    void getTopRawPaths_NonPositiveK_IsRejected() throws Exception {
+        mockMvc.perform(get("/api/visits/raw-top").param("k", "0"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,54 @@
+package com.myfinance.financetracker.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void fromDecimal_ConvertsExactly() {
+        assertEquals(1250L, MinorUnits.fromDecimal(new BigDecimal("12.5")));
+        assertEquals(10L, MinorUnits.parse("0.10"));
+        assertEquals(new BigDecimal("12.50"), MinorUnits.toDecimal(1250L));
+        assertThrows(ArithmeticException.class, () -> MinorUnits.parse("0.001"));
+    }
+
+    @Test
+    void repeatedIncrements_DoNotDrift() {
+        long spent = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            spent += MinorUnits.parse("0.10");
+        }
+        assertEquals(new BigDecimal("100000.00"), MinorUnits.toDecimal(spent));
+    }
+
+    @Test
+    void json_ReadsAndWritesDecimalAmounts() throws Exception {
+        Transaction transaction = objectMapper.readValue(
+            "{\"amount\":19.99,\"date\":\"2024-01-01\",\"description\":\"Lunch\"}", Transaction.class);
+        assertEquals(1999L, transaction.getAmount());
+        assertTrue(objectMapper.writeValueAsString(transaction).contains("\"amount\":19.99"));
+
+        Budget budget = objectMapper.readValue("{\"name\":\"Food\",\"limitAmount\":\"500\"}", Budget.class);
+        assertEquals(50_000L, budget.getLimitAmount());
+        String json = objectMapper.writeValueAsString(budget);
+        assertTrue(json.contains("\"limitAmount\":500.00"));
+        assertTrue(json.contains("\"remaining\":500.00"));
+    }
+
+    @Test
+    void json_RejectsSubMinorUnitAmounts() {
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue(
+            "{\"amount\":0.005,\"date\":\"2024-01-01\",\"description\":\"Fee\"}", Transaction.class));
+    }
+}
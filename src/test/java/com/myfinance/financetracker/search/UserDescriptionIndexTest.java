@@ -0,0 +1,110 @@
+package com.myfinance.financetracker.search;
+
+import com.myfinance.financetracker.model.enums.SearchMode;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDescriptionIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final String[] WORDS = {"кофе", "Coffee", "taxi", "такси", "market", "supermarket", "rent",
+        "аренда", "cafe", "café", "pharmacy", "аптека", "bus", "ab"};
+
+    private record Row(long id, LocalDate date, String description) {
+    }
+
+    @Test
+    void search_FindsSubstringsAndWordPrefixesIgnoringCase() {
+        UserDescriptionIndex index = new UserDescriptionIndex();
+        index.upsert(1L, START, null, "Starbucks COFFEE");
+        index.upsert(2L, START.plusDays(1), null, "Coffee beans, supermarket");
+        index.upsert(3L, START.plusDays(2), 7L, "Кофейня у дома");
+        index.upsert(4L, START.plusDays(3), null, null);
+
+        assertEquals(List.of(2L, 1L), index.search("coffee", SearchMode.SUBSTRING, 10));
+        assertEquals(List.of(2L), index.search("market", SearchMode.SUBSTRING, 10));
+        assertEquals(List.of(), index.search("market", SearchMode.PREFIX, 10));
+        assertEquals(List.of(2L), index.search("super", SearchMode.PREFIX, 10));
+        assertEquals(List.of(3L), index.search("КОФ", SearchMode.PREFIX, 10));
+        // Запросы короче триграммы проверяются перебором
+        assertEquals(List.of(3L), index.search("у", SearchMode.PREFIX, 10));
+        assertEquals(List.of(2L), index.search("coffee", SearchMode.SUBSTRING, 1));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void updatesAndRemovals_AreReflected() {
+        UserDescriptionIndex index = new UserDescriptionIndex();
+        index.upsert(1L, START, 5L, "taxi home");
+        index.upsert(2L, START, 6L, "taxi to airport");
+        index.upsert(1L, START, 5L, "bus home");
+        index.remove(3L);
+
+        assertEquals(List.of(2L), index.search("taxi", SearchMode.SUBSTRING, 10));
+        assertEquals(List.of(1L), index.search("bus", SearchMode.SUBSTRING, 10));
+
+        index.removeBudget(6L);
+        assertEquals(List.of(), index.search("taxi", SearchMode.SUBSTRING, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void search_MatchesNaiveScanAfterChurn() {
+        Random random = new Random(11);
+        UserDescriptionIndex index = new UserDescriptionIndex();
+        Map<Long, Row> rows = new HashMap<>();
+        for (long id = 1; id <= 20_000; id++) {
+            Row row = randomRow(random, id);
+            rows.put(id, row);
+            index.upsert(id, row.date(), null, row.description());
+        }
+        // Удалений больше половины - индекс пересобирается
+        for (long id = 1; id <= 15_000; id++) {
+            if (random.nextInt(4) == 0) {
+                Row row = randomRow(random, id);
+                rows.put(id, row);
+                index.upsert(id, row.date(), null, row.description());
+            } else {
+                rows.remove(id);
+                index.remove(id);
+            }
+        }
+
+        assertEquals(rows.size(), index.size());
+        for (String query : List.of("кофе", "COF", "market", "ca", "caf", "ренд", "bus", "a", "xyz")) {
+            for (SearchMode mode : SearchMode.values()) {
+                assertEquals(naiveSearch(rows, query, mode, 100), index.search(query, mode, 100), query + " " + mode);
+            }
+        }
+    }
+
+    private static Row randomRow(Random random, long id) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        return new Row(id, START.plusDays(random.nextInt(365)), description);
+    }
+
+    private static List<Long> naiveSearch(Map<Long, Row> rows, String query, SearchMode mode, int limit) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        return rows.values().stream()
+            .filter(row -> {
+                String text = row.description().toLowerCase(Locale.ROOT);
+                if (mode == SearchMode.SUBSTRING) {
+                    return text.contains(needle);
+                }
+                return text.startsWith(needle) || text.contains(" " + needle);
+            })
+            .sorted(Comparator.comparing(Row::date).reversed().thenComparing(Comparator.comparingLong(Row::id).reversed()))
+            .limit(limit)
+            .map(Row::id)
+            .toList();
+    }
+}
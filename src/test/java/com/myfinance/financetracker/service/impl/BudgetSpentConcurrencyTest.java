@@ -0,0 +1,99 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.repository.BudgetRepository;
+import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверка на реальной БД (H2), что параллельные транзакции не теряют обновления Budget.spent.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BudgetSpentConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int TRANSACTIONS = 2000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private static Transaction transactionFor(Long budgetId) {
+        Budget reference = new Budget();
+        reference.setId(budgetId);
+        return new Transaction(100L, LocalDate.of(2024, 1, 1), "parallel", reference, null);
+    }
+
+    @Test
+    void parallelInserts_DoNotLoseSpentUpdates() throws Exception {
+        Long budgetId = budgetService.createOrUpdateBudget(new Budget("Concurrent", 100_000_000L), null).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Transaction>> futures = new ArrayList<>();
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                futures.add(executor.submit(() -> transactionService.createOrUpdateTransaction(transactionFor(budgetId))));
+            }
+            for (Future<Transaction> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Budget budget = budgetRepository.findById(budgetId).orElseThrow();
+        assertEquals(TRANSACTIONS * 100L, budget.getSpent());
+    }
+
+    @Test
+    void updateBudget_DoesNotOverwriteSpent() {
+        Budget created = budgetService.createOrUpdateBudget(new Budget("Groceries", 50_000L), null);
+        transactionService.createOrUpdateTransaction(transactionFor(created.getId()));
+
+        Budget details = new Budget("Food", 60_000L);
+        details.setId(created.getId());
+        budgetService.createOrUpdateBudget(details, null);
+
+        Budget budget = budgetRepository.findById(created.getId()).orElseThrow();
+        assertEquals("Food", budget.getName());
+        assertEquals(100L, budget.getSpent());
+    }
+
+    @Test
+    void updateBudget_WithStaleVersion_IsRejected() {
+        Budget created = budgetService.createOrUpdateBudget(new Budget("Travel", 50_000L), null);
+        Long staleVersion = created.getVersion();
+
+        Budget first = new Budget("Travel 2024", 70_000L);
+        first.setId(created.getId());
+        first.setVersion(staleVersion);
+        budgetService.createOrUpdateBudget(first, null);
+
+        Budget second = new Budget("Vacation", 80_000L);
+        second.setId(created.getId());
+        second.setVersion(staleVersion);
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+            () -> budgetService.createOrUpdateBudget(second, null));
+    }
+}
@@ -1,5 +1,8 @@
 package com.myfinance.financetracker.service.impl;
 
+import com.myfinance.financetracker.dto.CategorySummary;
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.event.CategoryChangedEvent;
 import com.myfinance.financetracker.model.Category;
 import com.myfinance.financetracker.repository.CategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +27,9 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -60,15 +68,15 @@ class CategoryServiceImplTest {
     }
 
     @Test
-    void getAllCategories_ReturnsAllCategories() {
-        List<Category> allCategories = Arrays.asList(category1, category2);
-        when(categoryRepository.findAll()).thenReturn(allCategories);
+    void getAllCategories_ReturnsProjectionsWithoutLoadingEntities() {
+        List<CategorySummary> allCategories = List.of(new CategorySummary(1L, "Food"), new CategorySummary(2L, "Travel"));
+        when(categoryRepository.findSummariesAfter(0L, Limit.of(51))).thenReturn(allCategories);
 
-        List<Category> result = categoryService.getAllCategories();
+        CursorPage<CategorySummary> result = categoryService.getAllCategories(null, 50);
 
-        assertEquals(2, result.size());
-        assertTrue(result.containsAll(allCategories));
-        verify(categoryRepository, times(1)).findAll();
+        assertEquals(allCategories, result.items());
+        assertNull(result.nextCursor());
+        verify(categoryRepository, never()).findAll();
     }
 
     @Test
@@ -95,6 +103,7 @@ class CategoryServiceImplTest {
         assertEquals(category1, result);
         assertEquals("Food & Groceries", result.getName());
         verify(categoryRepository, times(1)).save(category1);
+        verify(eventPublisher).publishEvent(new CategoryChangedEvent(category1.getId()));
     }
 
     @Test
@@ -104,6 +113,7 @@ class CategoryServiceImplTest {
         categoryService.deleteCategory(1L);
 
         verify(categoryRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(new CategoryChangedEvent(1L));
     }
 
     @Test
@@ -0,0 +1,92 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.event.RemoteChangeEvent;
+import com.myfinance.financetracker.model.ChangeLogEntry;
+import com.myfinance.financetracker.model.enums.ChangeType;
+import com.myfinance.financetracker.repository.ChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeLogServiceImplTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ChangeLogServiceImpl changeLogService;
+
+    @BeforeEach
+    void setUp() {
+        changeLogService = new ChangeLogServiceImpl(changeLogRepository, eventPublisher,
+            100, Duration.ofMinutes(1), Duration.ofHours(1));
+    }
+
+    private static ChangeLogEntry entry(long id, ChangeType type, long entityId) {
+        ChangeLogEntry entry = new ChangeLogEntry(type, entityId, "other-node", Instant.now());
+        ReflectionTestUtils.setField(entry, "id", id);
+        return entry;
+    }
+
+    @Test
+    void poll_FirstCall_StartsFromCurrentEnd() {
+        when(changeLogRepository.findMaxId()).thenReturn(10L);
+
+        assertEquals(0, changeLogService.poll());
+
+        when(changeLogRepository.findByIdGreaterThanOrderById(eq(10L), any(Limit.class)))
+            .thenReturn(List.of(entry(11, ChangeType.CATEGORY, 7)));
+        assertEquals(1, changeLogService.poll());
+        verify(eventPublisher).publishEvent(new RemoteChangeEvent(ChangeType.CATEGORY, 7L));
+    }
+
+    @Test
+    void poll_EntryCommittedOutOfOrder_IsPublishedLater() {
+        when(changeLogRepository.findMaxId()).thenReturn(10L);
+        changeLogService.poll();
+        // Запись 11 ещё не закоммичена, когда видна запись 12
+        when(changeLogRepository.findByIdGreaterThanOrderById(eq(10L), any(Limit.class)))
+            .thenReturn(List.of(entry(12, ChangeType.BUDGET, 3)));
+        assertEquals(1, changeLogService.poll());
+
+        when(changeLogRepository.findAllById(List.of(11L))).thenReturn(List.of(entry(11, ChangeType.USER_TRANSACTIONS, 5)));
+        when(changeLogRepository.findByIdGreaterThanOrderById(eq(12L), any(Limit.class))).thenReturn(List.of());
+        assertEquals(1, changeLogService.poll());
+        verify(eventPublisher).publishEvent(new RemoteChangeEvent(ChangeType.USER_TRANSACTIONS, 5L));
+
+        // Найденный пропуск больше не перечитывается
+        changeLogService.poll();
+        verify(changeLogRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void poll_OwnEntries_AreNotPublished() {
+        when(changeLogRepository.findMaxId()).thenReturn(0L);
+        changeLogService.poll();
+        ChangeLogEntry own = new ChangeLogEntry(ChangeType.BUDGET, 1L,
+            (String) ReflectionTestUtils.getField(changeLogService, "origin"), Instant.now());
+        ReflectionTestUtils.setField(own, "id", 1L);
+        when(changeLogRepository.findByIdGreaterThanOrderById(anyLong(), any(Limit.class))).thenReturn(List.of(own));
+
+        assertEquals(0, changeLogService.poll());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,161 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Category;
+import com.myfinance.financetracker.model.ChangeLogEntry;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.model.enums.ChangeType;
+import com.myfinance.financetracker.repository.ChangeLogRepository;
+import com.myfinance.financetracker.repository.TransactionRepository;
+import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.CategoryService;
+import com.myfinance.financetracker.service.ChangeLogService;
+import com.myfinance.financetracker.service.ResourceVersionService;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Журнал изменений на реальной БД (H2): свои изменения записываются, но не применяются
+ * повторно; изменения "другого экземпляра" (записи в обход сервисов плюс строка change_log)
+ * сбрасывают кэш второго уровня, теги и кэш диапазонов.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeLogTest {
+
+    private static final String OTHER_NODE = "other-node";
+    private static final String BUDGET_CATEGORIES = Budget.class.getName() + ".categories";
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // Первый вызов запоминает позицию журнала, следующий дочитывает записи других тестов
+        changeLogService.poll();
+        changeLogService.poll();
+    }
+
+    @Test
+    void localChanges_AreLoggedButNotReapplied() {
+        Category category = categoryService.createOrUpdateCategory(new Category("logged"));
+
+        List<ChangeLogEntry> entries = changeLogRepository.findAll();
+        assertTrue(entries.stream().anyMatch(entry ->
+            entry.getChangeType() == ChangeType.CATEGORY && entry.getEntityId().equals(category.getId())));
+        assertEquals(0, changeLogService.poll());
+    }
+
+    @Test
+    void remoteBudgetChange_EvictsSecondLevelCacheAndTag() {
+        Category category = categoryService.createOrUpdateCategory(new Category("remote-linked"));
+        Budget budget = budgetService.createOrUpdateBudget(new Budget("before", 10_000L), List.of(category.getId()));
+        // Обновление загружает категории бюджета и кладёт их в кэш
+        budgetService.createOrUpdateBudget(budget, null);
+        assertTrue(secondLevelCache().containsCollection(BUDGET_CATEGORIES, budget.getId()));
+        String tag = resourceVersionService.getBudgetTag(budget.getId(), false);
+
+        jdbcTemplate.update("DELETE FROM budget_category WHERE budget_id = ?", budget.getId());
+        jdbcTemplate.update("UPDATE budgets SET name = ?, version = version + 1 WHERE id = ?", "after", budget.getId());
+        changeLogRepository.save(new ChangeLogEntry(ChangeType.BUDGET, budget.getId(), OTHER_NODE, Instant.now()));
+
+        assertEquals(1, changeLogService.poll());
+        assertFalse(secondLevelCache().containsCollection(BUDGET_CATEGORIES, budget.getId()));
+        assertEquals(0, budgetService.getBudgetById(budget.getId(), true).orElseThrow().getCategories().size());
+        assertNotEquals(tag, resourceVersionService.getBudgetTag(budget.getId(), false));
+    }
+
+    @Test
+    void remoteTransaction_KeepsBudgetCategoriesCachedAndChangesTag() {
+        Category category = categoryService.createOrUpdateCategory(new Category("spent-linked"));
+        Budget budget = budgetService.createOrUpdateBudget(new Budget("spent", 10_000L), List.of(category.getId()));
+        budgetService.createOrUpdateBudget(budget, null);
+        assertTrue(secondLevelCache().containsCollection(BUDGET_CATEGORIES, budget.getId()));
+        Budget budgetReference = new Budget();
+        budgetReference.setId(budget.getId());
+
+        transactionService.createOrUpdateTransaction(
+            new Transaction(100L, LocalDate.parse("2024-03-01"), "local", budgetReference, null));
+        assertTrue(changeLogRepository.findAll().stream().anyMatch(entry ->
+            entry.getChangeType() == ChangeType.BUDGET_SPENT && entry.getEntityId().equals(budget.getId())));
+        String tag = resourceVersionService.getBudgetTag(budget.getId(), false);
+
+        // Транзакция другого экземпляра: spent меняется в обход сервисов, в журнале - BUDGET_SPENT
+        jdbcTemplate.update("UPDATE budgets SET spent = spent + 200 WHERE id = ?", budget.getId());
+        changeLogRepository.save(new ChangeLogEntry(ChangeType.BUDGET_SPENT, budget.getId(), OTHER_NODE, Instant.now()));
+
+        assertEquals(1, changeLogService.poll());
+        assertTrue(secondLevelCache().containsCollection(BUDGET_CATEGORIES, budget.getId()));
+        assertNotEquals(tag, resourceVersionService.getBudgetTag(budget.getId(), false));
+    }
+
+    private org.hibernate.Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @Test
+    void remoteTransactionChange_InvalidatesUserRangeCache() {
+        User user = userService.createOrUpdateUser(new User("remote", "remote@example.com"));
+        LocalDate day = LocalDate.parse("2024-03-01");
+        transactionService.createOrUpdateTransaction(new Transaction(100L, day, "local", null, user));
+        assertEquals(1, transactionService.getTransactionsByUserAndDateRange(user.getId(), day, day).size());
+
+        transactionRepository.save(new Transaction(200L, day, "remote", null, user));
+        assertEquals(1, transactionService.getTransactionsByUserAndDateRange(user.getId(), day, day).size());
+        changeLogRepository.save(new ChangeLogEntry(ChangeType.USER_TRANSACTIONS, user.getId(), OTHER_NODE, Instant.now()));
+
+        assertEquals(1, changeLogService.poll());
+        assertEquals(2, transactionService.getTransactionsByUserAndDateRange(user.getId(), day, day).size());
+    }
+
+    @Test
+    void purgeExpired_KeepsRecentEntries() {
+        categoryService.createOrUpdateCategory(new Category("recent"));
+
+        changeLogService.purgeExpired();
+
+        assertFalse(changeLogRepository.findAll().isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.MonthlySpendingSummary;
+import com.myfinance.financetracker.dto.TransactionSummary;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.repository.TransactionRepository;
+import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.MonthlySpendingService;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверка на реальной БД (H2), что месячные сводки совпадают с пересчётом по исходным транзакциям.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MonthlySpendingRollupTest {
+
+    private static final YearMonth FROM = YearMonth.of(2024, 1);
+    private static final YearMonth TO = YearMonth.of(2024, 12);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlySpendingService monthlySpendingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static Transaction transaction(long amount, String date, Budget budget, User user) {
+        Budget reference = null;
+        if (budget != null) {
+            reference = new Budget();
+            reference.setId(budget.getId());
+        }
+        return new Transaction(amount, LocalDate.parse(date), "rollup", reference, user);
+    }
+
+    @Test
+    void rollups_FollowCreateUpdateAndDelete() {
+        User user = userService.createOrUpdateUser(new User("rollup", "rollup@example.com"));
+        Budget budget = budgetService.createOrUpdateBudget(new Budget("Rollup", 100_000L), null);
+
+        Transaction january = transactionService.createOrUpdateTransaction(
+            transaction(1000L, "2024-01-10", budget, user));
+        Transaction noBudget = transactionService.createOrUpdateTransaction(
+            transaction(500L, "2024-01-20", null, user));
+        transactionService.createTransactionsBulk(List.of(
+            transaction(700L, "2024-02-01", budget, user),
+            transaction(300L, "2024-02-28", budget, user)));
+
+        // Изменение управляемой сущности: старые значения должны читаться из БД, а не из неё
+        transactionTemplate.executeWithoutResult(status -> {
+            Transaction managed = transactionRepository.findById(january.getId()).orElseThrow();
+            managed.setDate(LocalDate.parse("2024-03-05"));
+            managed.setAmount(2000L);
+            transactionService.createOrUpdateTransaction(managed);
+        });
+        transactionService.deleteTransaction(noBudget.getId());
+
+        assertEquals(List.of(
+                new MonthlySpendingSummary(YearMonth.of(2024, 2), 1000L, 2L),
+                new MonthlySpendingSummary(YearMonth.of(2024, 3), 2000L, 1L)),
+            withoutEmptyMonths(monthlySpendingService.getMonthlySpending(user.getId(), null, FROM, TO)));
+        assertEquals(List.of(
+                new MonthlySpendingSummary(YearMonth.of(2024, 2), 1000L, 2L),
+                new MonthlySpendingSummary(YearMonth.of(2024, 3), 2000L, 1L)),
+            withoutEmptyMonths(monthlySpendingService.getMonthlySpending(user.getId(), budget.getId(), FROM, TO)));
+
+        assertEquals(recomputeFromTransactions(user.getId()),
+            monthlySpendingService.getMonthlySpending(user.getId(), null, FROM, TO).stream()
+                .mapToLong(MonthlySpendingSummary::total).sum());
+    }
+
+    @Test
+    void deleteUser_RemovesRollups() {
+        User user = userService.createOrUpdateUser(new User("gone", "gone@example.com"));
+        transactionService.createOrUpdateTransaction(transaction(1200L, "2024-05-05", null, user));
+
+        userService.deleteUser(user.getId());
+
+        assertTrue(monthlySpendingService.getMonthlySpending(user.getId(), null, FROM, TO).isEmpty());
+    }
+
+    // Месяц, в котором все транзакции удалены или перенесены, остаётся строкой с нулями
+    private static List<MonthlySpendingSummary> withoutEmptyMonths(List<MonthlySpendingSummary> rows) {
+        return rows.stream().filter(row -> row.transactionCount() != 0).toList();
+    }
+
+    private long recomputeFromTransactions(Long userId) {
+        return transactionRepository.findSummariesByUserAndDateRange(
+                userId, FROM.atDay(1), TO.atEndOfMonth()).stream()
+            .mapToLong(TransactionSummary::amount)
+            .sum();
+    }
+}
@@ -0,0 +1,156 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.CacheRegionStats;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Category;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.repository.CategoryRepository;
+import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.CacheStatisticsService;
+import com.myfinance.financetracker.service.CategoryService;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Кэш второго уровня для Category и категорий бюджета на реальной БД (H2): чтения из кэша
+ * без SQL и актуальные данные после записей, в том числе после атомарного UPDATE spent.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final String BUDGET_CATEGORIES = Budget.class.getName() + ".categories";
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void categoryById_RepeatedReadIsServedFromCacheAndSeesUpdates() {
+        Category category = categoryService.createOrUpdateCategory(new Category("l2"));
+        categoryService.getCategoryById(category.getId());
+
+        statistics.clear();
+        assertEquals("l2", categoryService.getCategoryById(category.getId()).orElseThrow().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(regionStats(Category.class.getName()).hitCount() > 0);
+
+        category.setName("l2 renamed");
+        categoryService.createOrUpdateCategory(category);
+        assertEquals("l2 renamed", categoryService.getCategoryById(category.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void loadAllById_TakesCachedCategoriesWithoutQueries() {
+        List<Long> ids = List.of(
+            categoryService.createOrUpdateCategory(new Category("l2-a")).getId(),
+            categoryService.createOrUpdateCategory(new Category("l2-b")).getId());
+        categoryRepository.loadAllById(ids);
+
+        statistics.clear();
+        List<Category> loaded = categoryRepository.loadAllById(List.of(ids.get(1), ids.get(0)));
+
+        assertEquals(List.of("l2-b", "l2-a"), loaded.stream().map(Category::getName).toList());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        // Id, которого нет ни в кэше, ни в БД, пропускается
+        assertEquals(1, categoryRepository.loadAllById(List.of(ids.get(0), -1L)).size());
+    }
+
+    @Test
+    void budgetById_SeesSpentChangedByBulkUpdate() {
+        Budget budget = budgetService.createOrUpdateBudget(new Budget("l2", 10_000L), null);
+        assertEquals(0L, budgetService.getBudgetById(budget.getId(), false).orElseThrow().getSpent());
+
+        Budget reference = new Budget();
+        reference.setId(budget.getId());
+        User user = userService.createOrUpdateUser(new User("l2", "l2@example.com"));
+        transactionService.createOrUpdateTransaction(
+            new Transaction(2_500L, LocalDate.parse("2024-06-01"), "l2", reference, user));
+
+        // Сам бюджет не кэшируется, поэтому spent всегда из БД
+        assertEquals(2_500L, budgetService.getBudgetById(budget.getId(), false).orElseThrow().getSpent());
+    }
+
+    @Test
+    void updateBudget_KeepsCachedCategoriesInResponse() {
+        Category category = categoryService.createOrUpdateCategory(new Category("l2-budget"));
+        Budget budget = budgetService.createOrUpdateBudget(new Budget("l2 linked", 10_000L), List.of(category.getId()));
+
+        Budget details = new Budget("l2 linked renamed", 20_000L);
+        details.setId(budget.getId());
+        Budget updated = budgetService.createOrUpdateBudget(details, null);
+
+        assertEquals("l2 linked renamed", updated.getName());
+        assertEquals(List.of("l2-budget"), updated.getCategories().stream().map(Category::getName).toList());
+    }
+
+    @Test
+    void cachedBudgetCategories_SurviveTransactionPostedToAnotherBudget() {
+        Category category = categoryService.createOrUpdateCategory(new Category("l2-kept"));
+        Budget first = budgetService.createOrUpdateBudget(new Budget("l2 first", 10_000L), List.of(category.getId()));
+        Budget second = budgetService.createOrUpdateBudget(new Budget("l2 second", 10_000L), null);
+        // Обновление загружает категории бюджета и кладёт их в кэш
+        budgetService.createOrUpdateBudget(first, null);
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        assertTrue(cache.containsCollection(BUDGET_CATEGORIES, first.getId()));
+
+        Budget reference = new Budget();
+        reference.setId(second.getId());
+        User user = userService.createOrUpdateUser(new User("l2-other", "l2-other@example.com"));
+        transactionService.createOrUpdateTransaction(
+            new Transaction(1_000L, LocalDate.parse("2024-06-01"), "l2", reference, user));
+
+        // UPDATE spent второго бюджета не трогает кэш первого
+        assertTrue(cache.containsCollection(BUDGET_CATEGORIES, first.getId()));
+        statistics.clear();
+        Budget updated = budgetService.createOrUpdateBudget(first, null);
+        assertEquals(List.of("l2-kept"), updated.getCategories().stream().map(Category::getName).toList());
+        assertTrue(regionStats(BUDGET_CATEGORIES).hitCount() > 0);
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+    }
+
+    private CacheRegionStats regionStats(String region) {
+        return cacheStatisticsService.getSecondLevelCacheStats().stream()
+            .filter(stats -> stats.region().equals(region))
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,93 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.AnalyticsSummary;
+import com.myfinance.financetracker.dto.BudgetTotal;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.TransactionAnalyticsService;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверка на реальной БД (H2), что кэш аналитики остаётся согласованным с записями после коммита.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionAnalyticsConsistencyTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionAnalyticsService analyticsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static Transaction transaction(long amount, String date, Budget budget, User user) {
+        Budget reference = null;
+        if (budget != null) {
+            reference = new Budget();
+            reference.setId(budget.getId());
+        }
+        return new Transaction(amount, LocalDate.parse(date), "analytics", reference, user);
+    }
+
+    @Test
+    void cachedColumns_FollowCommittedWrites() {
+        User user = userService.createOrUpdateUser(new User("analytics", "analytics@example.com"));
+        Budget budget = budgetService.createOrUpdateBudget(new Budget("Analytics", 100_000L), null);
+        Transaction first = transactionService.createOrUpdateTransaction(transaction(1000L, "2024-01-10", budget, user));
+
+        // Первый запрос загружает данные пользователя в кэш
+        assertEquals(new AnalyticsSummary(1, 1000L), analyticsService.getSummary(user.getId(), null, null, null));
+
+        transactionService.createTransactionsBulk(List.of(
+            transaction(500L, "2024-02-01", null, user),
+            transaction(250L, "2024-02-15", budget, user)));
+        first.setAmount(4000L);
+        first.setDate(LocalDate.parse("2024-03-01"));
+        transactionService.createOrUpdateTransaction(first);
+
+        assertEquals(new AnalyticsSummary(3, 4750L), analyticsService.getSummary(user.getId(), null, null, null));
+        assertEquals(new AnalyticsSummary(1, 4000L),
+            analyticsService.getSummary(user.getId(), LocalDate.parse("2024-03-01"), null, null));
+        assertEquals(List.of(new BudgetTotal(null, 1, 500L), new BudgetTotal(budget.getId(), 2, 4250L)),
+            analyticsService.getTotalsByBudget(user.getId(), null, null));
+
+        transactionService.deleteTransaction(first.getId());
+        assertEquals(new AnalyticsSummary(2, 750L), analyticsService.getSummary(user.getId(), null, null, null));
+    }
+
+    @Test
+    void rolledBackWrites_AreNotApplied() {
+        User user = userService.createOrUpdateUser(new User("rollback", "rollback@example.com"));
+        transactionService.createOrUpdateTransaction(transaction(100L, "2024-01-01", null, user));
+        assertEquals(new AnalyticsSummary(1, 100L), analyticsService.getSummary(user.getId(), null, null, null));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.createOrUpdateTransaction(transaction(900L, "2024-01-02", null, user));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(new AnalyticsSummary(1, 100L), analyticsService.getSummary(user.getId(), null, null, null));
+    }
+}
@@ -0,0 +1,205 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.exception.ResourceNotFoundException;
+import com.myfinance.financetracker.exception.ServiceBusyException;
+import com.myfinance.financetracker.model.ImportTask;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.repository.BudgetRepository;
+import com.myfinance.financetracker.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceImplTest {
+
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "statement.csv", "text/csv",
+            content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void startImport_CommitsInFixedSizeChunks() {
+        // Сервис очищает порцию после сохранения, поэтому копируем аргументы
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(transactionService.createTransactionsBulk(anyList())).thenAnswer(invocation -> {
+            List<Transaction> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return chunk;
+        });
+        when(budgetRepository.findExistingIds(Set.of(3L))).thenReturn(List.of(3L));
+        TransactionImportServiceImpl importService =
+            new TransactionImportServiceImpl(transactionService, budgetRepository, new SyncTaskExecutor(), 2, RETENTION);
+
+        String taskId = importService.startImport(csv(
+            "date,amount,description,budgetId\n"
+                + "2024-01-01,10.50,Coffee,\n"
+                + "2024-01-02,20,\"Shop, Central\",3\n"
+                + "2024-01-03,30,Taxi\n"
+                + "\n"
+                + "2024-01-04,40,Rent\n"
+                + "2024-01-05,50,Gym\n"));
+
+        ImportTask task = importService.getTaskStatus(taskId);
+        assertEquals("COMPLETED", task.getStatus());
+        assertEquals(5, task.getImportedRows());
+        assertEquals(0, task.getSkippedRows());
+        assertNotNull(task.getFinishedAt());
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+    }
+
+    @Test
+    void startImport_SkipsMalformedLines() {
+        TransactionImportServiceImpl importService =
+            new TransactionImportServiceImpl(transactionService, budgetRepository, new SyncTaskExecutor(), 100, RETENTION);
+
+        String taskId = importService.startImport(csv(
+            "2024-01-01,10,Coffee\n"
+                + "not-a-date,10,Broken\n"
+                + "2024-01-02,-5,Negative\n"));
+
+        ImportTask task = importService.getTaskStatus(taskId);
+        assertEquals("COMPLETED", task.getStatus());
+        assertEquals(1, task.getImportedRows());
+        assertEquals(2, task.getSkippedRows());
+        assertTrue(task.getErrorMessage().startsWith("Line 3"));
+        verify(transactionService, times(1)).createTransactionsBulk(anyList());
+    }
+
+    @Test
+    void startImport_FailedChunk_MarksTaskFailed() {
+        when(transactionService.createTransactionsBulk(anyList()))
+            .thenThrow(new IllegalStateException("db down"));
+        TransactionImportServiceImpl importService =
+            new TransactionImportServiceImpl(transactionService, budgetRepository, new SyncTaskExecutor(), 100, RETENTION);
+
+        String taskId = importService.startImport(csv("2024-01-01,10,Coffee\n"));
+
+        ImportTask task = importService.getTaskStatus(taskId);
+        assertEquals("FAILED: IllegalStateException", task.getStatus());
+        assertEquals("Stopped at line 1: db down", task.getErrorMessage());
+    }
+
+    @Test
+    void startImport_RowsWithMissingBudget_AreSkippedAndTheRestImported() {
+        List<List<Transaction>> chunks = new ArrayList<>();
+        when(transactionService.createTransactionsBulk(anyList())).thenAnswer(invocation -> {
+            List<Transaction> chunk = invocation.getArgument(0);
+            chunks.add(List.copyOf(chunk));
+            return chunk;
+        });
+        when(budgetRepository.findExistingIds(anyCollection())).thenReturn(List.of(3L));
+        TransactionImportServiceImpl importService =
+            new TransactionImportServiceImpl(transactionService, budgetRepository, new SyncTaskExecutor(), 2, RETENTION);
+
+        String taskId = importService.startImport(csv(
+            "2024-01-01,10,Coffee,3\n"
+                + "2024-01-02,20,Shop,99\n"
+                + "2024-01-03,30,Taxi\n"));
+
+        ImportTask task = importService.getTaskStatus(taskId);
+        assertEquals("COMPLETED", task.getStatus());
+        assertEquals(2, task.getImportedRows());
+        assertEquals(1, task.getSkippedRows());
+        assertEquals("Line 2: Budget not found with id 99", task.getErrorMessage());
+        assertEquals(List.of("Coffee", "Taxi"),
+            chunks.stream().flatMap(List::stream).map(Transaction::getDescription).toList());
+    }
+
+    @Test
+    void startImport_BudgetDeletedBeforeCommit_RechecksChunkAndSkipsItsRows() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(transactionService.createTransactionsBulk(anyList()))
+            .thenThrow(new ResourceNotFoundException("Budget not found with id 3"))
+            .thenAnswer(invocation -> {
+                List<Transaction> chunk = invocation.getArgument(0);
+                chunkSizes.add(chunk.size());
+                return chunk;
+            });
+        when(budgetRepository.findExistingIds(anyCollection())).thenReturn(List.of(3L), List.of());
+        TransactionImportServiceImpl importService =
+            new TransactionImportServiceImpl(transactionService, budgetRepository, new SyncTaskExecutor(), 100, RETENTION);
+
+        String taskId = importService.startImport(csv(
+            "2024-01-01,10,Coffee,3\n"
+                + "2024-01-02,20,Taxi\n"));
+
+        ImportTask task = importService.getTaskStatus(taskId);
+        assertEquals("COMPLETED", task.getStatus());
+        assertEquals(1, task.getImportedRows());
+        assertEquals(1, task.getSkippedRows());
+        assertEquals(List.of(1), chunkSizes);
+    }
+
+    @Test
+    void startImport_QueueFull_ThrowsServiceBusyException() {
+        TransactionImportServiceImpl importService = new TransactionImportServiceImpl(transactionService, budgetRepository,
+            task -> {
+                throw new TaskRejectedException("full");
+            }, 100, RETENTION);
+
+        assertThrows(ServiceBusyException.class,
+            () -> importService.startImport(csv("2024-01-01,10,Coffee\n")));
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void purgeFinishedTasks_ForgetsOnlyTasksFinishedBeforeCutoff() {
+        TransactionImportServiceImpl importService =
+            new TransactionImportServiceImpl(transactionService, budgetRepository, new SyncTaskExecutor(), 100, RETENTION);
+        String taskId = importService.startImport(csv("2024-01-01,10,Coffee\n"));
+        LocalDateTime finishedAt = importService.getTaskStatus(taskId).getFinishedAt();
+
+        // Свежая задача переживает плановую очистку и отсечку по самому моменту завершения
+        assertEquals(0, importService.purgeFinishedTasks());
+        assertEquals(0, importService.purgeTasksFinishedBefore(finishedAt));
+        assertEquals("COMPLETED", importService.getTaskStatus(taskId).getStatus());
+
+        assertEquals(1, importService.purgeTasksFinishedBefore(finishedAt.plus(RETENTION)));
+        assertThrows(ResourceNotFoundException.class, () -> importService.getTaskStatus(taskId));
+    }
+
+    @Test
+    void purgeFinishedTasks_KeepsTasksStillRunning() {
+        TransactionImportServiceImpl importService = new TransactionImportServiceImpl(transactionService, budgetRepository,
+            task -> { }, 100, RETENTION);
+        String taskId = importService.startImport(csv("2024-01-01,10,Coffee\n"));
+
+        assertEquals(0, importService.purgeTasksFinishedBefore(LocalDateTime.now().plus(RETENTION)));
+        assertEquals("PENDING", importService.getTaskStatus(taskId).getStatus());
+    }
+
+    @Test
+    void parseTransaction_ReadsOptionalBudget() {
+        Transaction transaction = TransactionImportServiceImpl.parseTransaction("2024-03-01,12.5,\"A \"\"quoted\"\" shop\",7");
+
+        assertEquals(LocalDate.of(2024, 3, 1), transaction.getDate());
+        assertEquals(1250L, transaction.getAmount());
+        assertEquals("A \"quoted\" shop", transaction.getDescription());
+        assertEquals(7L, transaction.getBudget().getId());
+    }
+}
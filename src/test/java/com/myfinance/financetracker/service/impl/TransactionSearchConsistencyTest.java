@@ -0,0 +1,79 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.exception.ValidationException;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.model.enums.SearchMode;
+import com.myfinance.financetracker.service.BudgetService;
+import com.myfinance.financetracker.service.TransactionSearchService;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверка на реальной БД (H2), что поисковый индекс следует за закоммиченными записями.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionSearchConsistencyTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionSearchService searchService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    private List<Long> search(User user, String query, SearchMode mode) {
+        return searchService.searchTransactions(user.getId(), query, mode, 50).stream()
+            .map(Transaction::getId)
+            .toList();
+    }
+
+    @Test
+    void index_FollowsCommittedWrites() {
+        User user = userService.createOrUpdateUser(new User("searcher", "searcher@example.com"));
+        Budget budget = budgetService.createOrUpdateBudget(new Budget("Search", 100_000L), null);
+        Budget budgetReference = new Budget();
+        budgetReference.setId(budget.getId());
+        Transaction coffee = transactionService.createOrUpdateTransaction(
+            new Transaction(300L, LocalDate.parse("2024-01-10"), "Coffee House", null, user));
+        List<Transaction> bulk = transactionService.createTransactionsBulk(List.of(
+            new Transaction(500L, LocalDate.parse("2024-02-01"), "Supermarket", budgetReference, user),
+            new Transaction(250L, LocalDate.parse("2024-02-15"), "coffee beans", null, user)));
+
+        assertEquals(List.of(bulk.get(1).getId(), coffee.getId()), search(user, "COFFEE", SearchMode.SUBSTRING));
+        assertEquals(List.of(bulk.get(0).getId()), search(user, "market", SearchMode.SUBSTRING));
+        assertEquals(List.of(), search(user, "market", SearchMode.PREFIX));
+
+        coffee.setDescription("Tea house");
+        transactionService.createOrUpdateTransaction(coffee);
+        assertEquals(List.of(bulk.get(1).getId()), search(user, "coffee", SearchMode.SUBSTRING));
+        assertEquals(List.of(coffee.getId()), search(user, "tea", SearchMode.PREFIX));
+
+        transactionService.deleteTransaction(bulk.get(1).getId());
+        assertEquals(List.of(), search(user, "coffee", SearchMode.SUBSTRING));
+
+        budgetService.deleteBudget(budget.getId());
+        assertEquals(List.of(), search(user, "super", SearchMode.PREFIX));
+    }
+
+    @Test
+    void blankQuery_IsRejected() {
+        assertThrows(ValidationException.class, () -> searchService.searchTransactions(1L, "  ", SearchMode.SUBSTRING, 10));
+    }
+}
@@ -0,0 +1,69 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.event.RemoteChangeEvent;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.ChangeType;
+import com.myfinance.financetracker.model.enums.SearchMode;
+import com.myfinance.financetracker.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSearchServiceImplTest {
+
+    private static final long USER_ID = 7L;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private static TransactionSnapshot row(long id, String date, String description) {
+        return new TransactionSnapshot(id, USER_ID, null, LocalDate.parse(date), 100L, description);
+    }
+
+    @Test
+    void localChangeCommittedDuringRemoteReload_IsNotLost() {
+        TransactionSearchServiceImpl searchService =
+            new TransactionSearchServiceImpl(transactionRepository, transactionManager);
+        when(transactionRepository.streamSearchDocuments())
+            .thenReturn(Stream.of(row(1L, "2024-01-01", "old coffee")));
+        searchService.rebuild();
+
+        // Локальная транзакция коммитится, пока индекс пользователя читается из БД
+        when(transactionRepository.streamSearchDocumentsByUser(USER_ID)).thenAnswer(invocation -> {
+            searchService.onTransactionChanged(
+                new TransactionChangedEvent(List.of(), List.of(row(2L, "2024-01-02", "late coffee"))));
+            return Stream.of(row(1L, "2024-01-01", "old coffee"));
+        });
+        searchService.onRemoteChange(new RemoteChangeEvent(ChangeType.USER_TRANSACTIONS, USER_ID));
+
+        when(transactionRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> {
+                Transaction transaction = new Transaction();
+                transaction.setId(id);
+                return transaction;
+            }).toList();
+        });
+        List<Long> found = searchService.searchTransactions(USER_ID, "coffee", SearchMode.SUBSTRING, 10).stream()
+            .map(Transaction::getId)
+            .toList();
+        assertEquals(List.of(2L, 1L), found);
+    }
+}
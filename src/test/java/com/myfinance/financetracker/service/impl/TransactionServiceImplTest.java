@@ -0,0 +1,307 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.cache.TransactionRangeCache;
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.TransactionCursor;
+import com.myfinance.financetracker.dto.TransactionSnapshot;
+import com.myfinance.financetracker.event.TransactionChangedEvent;
+import com.myfinance.financetracker.exception.ResourceNotFoundException;
+import com.myfinance.financetracker.exception.ValidationException;
+import com.myfinance.financetracker.model.Budget;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.enums.ExportFormat;
+import com.myfinance.financetracker.repository.BudgetRepository;
+import com.myfinance.financetracker.repository.MonthlySpendingRepository;
+import com.myfinance.financetracker.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private MonthlySpendingRepository monthlySpendingRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionRangeCache rangeCache;
+
+    @InjectMocks
+    private TransactionServiceImpl transactionService;
+
+    private static Transaction transaction(long id, String date) {
+        Transaction transaction = new Transaction(1000L, LocalDate.parse(date), "tx " + id, null, null);
+        transaction.setId(id);
+        return transaction;
+    }
+
+    @Test
+    void getTransactionsByDateRange_FirstPage_ReturnsCursorOfLastRow() {
+        when(transactionRepository.findByDateRange(
+            LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-31"), Limit.of(3)))
+            .thenReturn(List.of(
+                transaction(1L, "2023-01-01"),
+                transaction(2L, "2023-01-02"),
+                transaction(3L, "2023-01-03")));
+
+        CursorPage<Transaction> page =
+            transactionService.getTransactionsByDateRange(
+                LocalDate.parse("2023-01-01"), LocalDate.parse("2023-01-31"), null, 2);
+
+        assertEquals(2, page.items().size());
+        TransactionCursor cursor = TransactionCursor.decode(page.nextCursor());
+        assertEquals(LocalDate.parse("2023-01-02"), cursor.date());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void getTransactionsByDateRange_LastPage_HasNoCursor() {
+        String cursor = new TransactionCursor(LocalDate.parse("2023-01-02"), 2L).encode();
+        when(transactionRepository.findByDateRangeAfter(
+            LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), LocalDate.parse("2023-01-02"), 2L, Limit.of(3)))
+            .thenReturn(List.of(transaction(3L, "2023-01-03")));
+
+        CursorPage<Transaction> page =
+            transactionService.getTransactionsByDateRange(null, null, cursor, 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+        verify(transactionRepository, never()).findAll();
+    }
+
+    @Test
+    void getTransactionsByDateRange_InvalidCursor_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () ->
+            transactionService.getTransactionsByDateRange(null, null, "not-a-cursor", 10));
+    }
+
+    @Test
+    void exportTransactions_Csv_WritesEveryRowAndDetachesIt() throws IOException {
+        Transaction first = transaction(1L, "2023-01-01");
+        Transaction second = transaction(2L, "2023-01-02");
+        second.setDescription("Coffee, \"Central\"");
+        when(transactionRepository.streamByDateRange(LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)))
+            .thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionService.exportTransactions(null, null, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,date,amount,description,budgetId,userId", lines[0]);
+        assertEquals("1,2023-01-01,10.00,tx 1,,", lines[1]);
+        assertEquals("2,2023-01-02,10.00,\"Coffee, \"\"Central\"\"\",,", lines[2]);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void exportTransactions_Ndjson_WritesOneObjectPerLine() throws IOException {
+        LocalDate start = LocalDate.parse("2023-01-01");
+        LocalDate end = LocalDate.parse("2023-01-31");
+        when(transactionRepository.streamByDateRange(start, end))
+            .thenReturn(Stream.of(transaction(1L, "2023-01-01")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionService.exportTransactions(start, end, ExportFormat.NDJSON, out);
+
+        assertEquals("{\"id\":1,\"date\":\"2023-01-01\",\"amount\":10.00,\"description\":\"tx 1\","
+            + "\"budgetId\":null,\"userId\":null}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Budget budget(long id, long spent) {
+        Budget budget = new Budget("Budget " + id, 100_000L);
+        budget.setId(id);
+        budget.setSpent(spent);
+        return budget;
+    }
+
+    private static Transaction newTransaction(long amount, Long budgetId) {
+        Budget budgetRef = null;
+        if (budgetId != null) {
+            budgetRef = new Budget();
+            budgetRef.setId(budgetId);
+        }
+        return new Transaction(amount, LocalDate.parse("2023-01-01"), "bulk", budgetRef, null);
+    }
+
+    @Test
+    void createTransactionsBulk_LoadsEachBudgetOnceAndFoldsSpent() {
+        Budget food = budget(1L, 500L);
+        Budget travel = budget(2L, 0L);
+        List<Transaction> transactions = List.of(
+            newTransaction(1000L, 1L),
+            newTransaction(2000L, 2L),
+            newTransaction(3000L, 1L),
+            newTransaction(4000L, null));
+        when(budgetRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(food, travel));
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+
+        List<Transaction> result = transactionService.createTransactionsBulk(transactions);
+
+        assertEquals(4, result.size());
+        verify(budgetRepository).addToSpent(1L, 4000L);
+        verify(budgetRepository).addToSpent(2L, 2000L);
+        assertSame(food, transactions.get(2).getBudget());
+        assertNull(transactions.get(3).getBudget());
+        verify(budgetRepository, times(1)).findAllById(any());
+        verify(transactionRepository, times(1)).saveAll(transactions);
+        verify(transactionRepository, never()).save(any());
+        verify(session).setJdbcBatchSize(1000);
+    }
+
+    @Test
+    void createTransactionsBulk_UnknownBudget_ThrowsResourceNotFoundException() {
+        List<Transaction> transactions = List.of(newTransaction(1000L, 7L));
+        when(budgetRepository.findAllById(Set.of(7L))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> transactionService.createTransactionsBulk(transactions));
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createOrUpdateTransaction_New_IncrementsSpentAtomically() {
+        Transaction transaction = newTransaction(2500L, 1L);
+        Budget reference = budget(1L, 0L);
+        when(budgetRepository.addToSpent(1L, 2500L)).thenReturn(1);
+        when(budgetRepository.getReferenceById(1L)).thenReturn(reference);
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        Transaction result = transactionService.createOrUpdateTransaction(transaction);
+
+        assertSame(reference, result.getBudget());
+        verify(budgetRepository, never()).findById(any());
+        verify(budgetRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrUpdateTransaction_UnknownBudget_ThrowsResourceNotFoundException() {
+        Transaction transaction = newTransaction(2500L, 9L);
+        when(budgetRepository.addToSpent(9L, 2500L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> transactionService.createOrUpdateTransaction(transaction));
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteTransaction_DecrementsSpentAtomically() {
+        Transaction transaction = transaction(5L, "2023-01-01");
+        transaction.setBudget(budget(1L, 1000L));
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(transaction));
+
+        transactionService.deleteTransaction(5L);
+
+        verify(budgetRepository).addToSpent(1L, -1000L);
+        verify(transactionRepository).delete(transaction);
+    }
+
+    @Test
+    void createOrUpdateTransaction_New_AddsToMonthlyRollup() {
+        Transaction transaction = newTransaction(2500L, 1L);
+        when(budgetRepository.addToSpent(1L, 2500L)).thenReturn(1);
+        when(budgetRepository.getReferenceById(1L)).thenReturn(budget(1L, 0L));
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        transactionService.createOrUpdateTransaction(transaction);
+
+        verify(monthlySpendingRepository).addToMonth(0L, 1L, 202301, 2500L, 1L);
+        verify(transactionRepository, never()).findSnapshotsByIds(any());
+    }
+
+    @Test
+    void createOrUpdateTransaction_Update_MovesAmountBetweenMonths() {
+        Transaction transaction = transaction(5L, "2023-02-10");
+        transaction.setAmount(3000L);
+        when(transactionRepository.findSnapshotsByIds(List.of(5L))).thenReturn(List.of(
+            new TransactionSnapshot(5L, null, null, LocalDate.parse("2023-01-31"), 1000L)));
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        transactionService.createOrUpdateTransaction(transaction);
+
+        verify(monthlySpendingRepository).addToMonth(0L, 0L, 202301, -1000L, -1L);
+        verify(monthlySpendingRepository).addToMonth(0L, 0L, 202302, 3000L, 1L);
+        verify(eventPublisher).publishEvent(new TransactionChangedEvent(
+            List.of(new TransactionSnapshot(5L, null, null, LocalDate.parse("2023-01-31"), 1000L)),
+            List.of(new TransactionSnapshot(5L, null, null, LocalDate.parse("2023-02-10"), 3000L, "tx 5"))));
+    }
+
+    @Test
+    void createOrUpdateTransaction_UpdateWithinMonth_KeepsCount() {
+        Transaction transaction = transaction(5L, "2023-01-20");
+        transaction.setAmount(1500L);
+        when(transactionRepository.findSnapshotsByIds(List.of(5L))).thenReturn(List.of(
+            new TransactionSnapshot(5L, null, null, LocalDate.parse("2023-01-01"), 1000L)));
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        transactionService.createOrUpdateTransaction(transaction);
+
+        verify(monthlySpendingRepository).addToMonth(0L, 0L, 202301, 500L, 0L);
+        verifyNoMoreInteractions(monthlySpendingRepository);
+    }
+
+    @Test
+    void createTransactionsBulk_FoldsRollupsPerMonth() {
+        List<Transaction> transactions = List.of(
+            newTransaction(1000L, null),
+            newTransaction(2000L, null),
+            transaction(9L, "2023-03-05"));
+        when(transactionRepository.findSnapshotsByIds(List.of(9L))).thenReturn(List.of(
+            new TransactionSnapshot(9L, null, null, LocalDate.parse("2023-01-15"), 700L)));
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(transactionRepository.saveAll(transactions)).thenReturn(transactions);
+
+        transactionService.createTransactionsBulk(transactions);
+
+        verify(monthlySpendingRepository).addToMonth(0L, 0L, 202301, 2300L, 1L);
+        verify(monthlySpendingRepository).addToMonth(0L, 0L, 202303, 1000L, 1L);
+        verifyNoMoreInteractions(monthlySpendingRepository);
+    }
+
+    @Test
+    void deleteTransaction_SubtractsFromMonthlyRollup() {
+        Transaction transaction = transaction(5L, "2023-04-01");
+        transaction.setBudget(budget(3L, 1000L));
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(transaction));
+
+        transactionService.deleteTransaction(5L);
+
+        verify(monthlySpendingRepository).addToMonth(0L, 3L, 202304, -1000L, -1L);
+        verify(eventPublisher).publishEvent(new TransactionChangedEvent(
+            List.of(new TransactionSnapshot(5L, null, 3L, LocalDate.parse("2023-04-01"), 1000L, "tx 5")), List.of()));
+    }
+}
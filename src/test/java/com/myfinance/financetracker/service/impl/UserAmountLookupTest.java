@@ -0,0 +1,63 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.UserAmountMatch;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Поиск пользователей по диапазону сумм на реальной БД (H2): подсчёт совпадений и постраничный обход.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserAmountLookupTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void amountRange_CountsMatchesPerUserAcrossPages() {
+        // Суммы вне диапазона тестовых данных других классов
+        long base = 987_000_000L;
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(userService.createOrUpdateUser(new User("fraud" + i, "fraud" + i + "@example.com")));
+        }
+        LocalDate date = LocalDate.parse("2024-05-01");
+        transactionService.createTransactionsBulk(List.of(
+            new Transaction(base + 100, date, "a", null, users.get(0)),
+            new Transaction(base + 200, date, "b", null, users.get(0)),
+            new Transaction(base + 900, date, "c", null, users.get(0)),
+            new Transaction(base + 150, date, "d", null, users.get(1)),
+            new Transaction(base + 300, date, "e", null, users.get(2)),
+            new Transaction(base + 5_000, date, "f", null, users.get(2))));
+
+        CursorPage<UserAmountMatch> first = userService.getUsersByTransactionAmountRange(base + 100, base + 300, null, 2);
+        assertEquals(List.of(
+                new UserAmountMatch(users.get(0).getId(), "fraud0", "fraud0@example.com", 2),
+                new UserAmountMatch(users.get(1).getId(), "fraud1", "fraud1@example.com", 1)),
+            first.items());
+        assertNotNull(first.nextCursor());
+
+        CursorPage<UserAmountMatch> second =
+            userService.getUsersByTransactionAmountRange(base + 100, base + 300, first.nextCursor(), 2);
+        assertEquals(List.of(new UserAmountMatch(users.get(2).getId(), "fraud2", "fraud2@example.com", 1)),
+            second.items());
+        assertNull(second.nextCursor());
+    }
+}
@@ -1,6 +1,13 @@
 package com.myfinance.financetracker.service.impl;
 
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.IdCursor;
+import com.myfinance.financetracker.dto.UserAmountMatch;
+import com.myfinance.financetracker.dto.UserSummary;
+import com.myfinance.financetracker.dto.UserStats;
+import com.myfinance.financetracker.exception.ValidationException;
 import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.repository.MonthlySpendingRepository;
 import com.myfinance.financetracker.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,7 +15,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +33,12 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MonthlySpendingRepository monthlySpendingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -69,14 +86,31 @@ class UserServiceImplTest {
     }
 
     @Test
-    void getAllUsers_ReturnsAllUsers() {
-        when(userRepository.findAll()).thenReturn(userList);
+    void getAllUsers_ReturnsProjectionsWithoutLoadingEntities() {
+        List<UserSummary> summaries = List.of(
+            new UserSummary(1L, "user1", "user1@example.com"),
+            new UserSummary(2L, "user2", "user2@example.com"));
+        when(userRepository.findSummariesAfter(0L, Limit.of(51))).thenReturn(summaries);
+
+        CursorPage<UserSummary> result = userService.getAllUsers(null, 50);
+
+        assertEquals(summaries, result.items());
+        assertNull(result.nextCursor());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllUsers_LimitAboveMaximum_IsClampedAndReturnsCursor() {
+        List<UserSummary> rows = new ArrayList<>();
+        for (long id = 11; id <= 11 + CursorPage.MAX_PAGE_SIZE; id++) {
+            rows.add(new UserSummary(id, "user" + id, "user" + id + "@example.com"));
+        }
+        when(userRepository.findSummariesAfter(10L, Limit.of(CursorPage.MAX_PAGE_SIZE + 1))).thenReturn(rows);
 
-        List<User> result = userService.getAllUsers();
+        CursorPage<UserSummary> result = userService.getAllUsers(new IdCursor(10L).encode(), 10_000);
 
-        assertEquals(2, result.size());
-        assertTrue(result.containsAll(userList));
-        verify(userRepository, times(1)).findAll();
+        assertEquals(CursorPage.MAX_PAGE_SIZE, result.items().size());
+        assertEquals(new IdCursor(10L + CursorPage.MAX_PAGE_SIZE).encode(), result.nextCursor());
     }
 
     @Test
@@ -122,27 +156,51 @@ class UserServiceImplTest {
         userService.deleteUser(1L);
 
         verify(userRepository, times(1)).deleteById(1L);
+        verify(monthlySpendingRepository, times(1)).deleteByUserId(1L);
     }
 
     @Test
-    void getUsersByTransactionAmount_ReturnsFilteredUsers() {
-        Double amount = 100.0;
-        when(userRepository.findUsersByTransactionAmount(amount)).thenReturn(userList);
+    void getUsersByTransactionAmountRange_FullPage_ReturnsCursorOfLastUser() {
+        when(userRepository.findUsersByTransactionAmountRange(1000L, 5000L, 0L, Limit.of(3))).thenReturn(List.of(
+            new UserAmountMatch(1L, "user1", "user1@example.com", 4),
+            new UserAmountMatch(2L, "user2", "user2@example.com", 1),
+            new UserAmountMatch(7L, "user7", "user7@example.com", 2)));
 
-        List<User> result = userService.getUsersByTransactionAmount(amount);
+        CursorPage<UserAmountMatch> page = userService.getUsersByTransactionAmountRange(1000L, 5000L, null, 2);
 
-        assertEquals(userList, result);
-        verify(userRepository, times(1)).findUsersByTransactionAmount(amount);
+        assertEquals(List.of(1L, 2L), page.items().stream().map(UserAmountMatch::id).toList());
+        assertEquals(new IdCursor(2L).encode(), page.nextCursor());
+    }
+
+    @Test
+    void getUsersByTransactionAmountRange_WithCursor_StartsAfterIt() {
+        when(userRepository.findUsersByTransactionAmountRange(1000L, 5000L, 2L, Limit.of(3))).thenReturn(List.of(
+            new UserAmountMatch(7L, "user7", "user7@example.com", 2)));
+
+        CursorPage<UserAmountMatch> page =
+            userService.getUsersByTransactionAmountRange(1000L, 5000L, new IdCursor(2L).encode(), 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getUsersByTransactionAmountRange_InvertedRange_ThrowsValidationException() {
+        assertThrows(ValidationException.class,
+            () -> userService.getUsersByTransactionAmountRange(5000L, 1000L, null, 10));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void getUsersByTransactionAmount_NoUsers_ReturnsEmptyList() {
-        Double amount = 1000.0;
-        when(userRepository.findUsersByTransactionAmount(amount)).thenReturn(List.of());
+    void getUserStats_FullPage_ReturnsCursorOfLastUser() {
+        when(userRepository.findUserStats(0L, Limit.of(3))).thenReturn(List.of(
+            new UserStats(1L, "user1", "user1@example.com", 2, 1500L, LocalDate.parse("2024-03-01")),
+            new UserStats(4L, "user4", "user4@example.com", 0, 0L, null),
+            new UserStats(5L, "user5", "user5@example.com", 1, 700L, LocalDate.parse("2024-01-15"))));
 
-        List<User> result = userService.getUsersByTransactionAmount(amount);
+        CursorPage<UserStats> page = userService.getUserStats(null, 2);
 
-        assertTrue(result.isEmpty());
-        verify(userRepository, times(1)).findUsersByTransactionAmount(amount);
+        assertEquals(List.of(1L, 4L), page.items().stream().map(UserStats::id).toList());
+        assertEquals(new IdCursor(4L).encode(), page.nextCursor());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.CursorPage;
+import com.myfinance.financetracker.dto.IdCursor;
+import com.myfinance.financetracker.dto.UserStats;
+import com.myfinance.financetracker.model.Transaction;
+import com.myfinance.financetracker.model.User;
+import com.myfinance.financetracker.service.TransactionService;
+import com.myfinance.financetracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Сводка по транзакциям пользователей на реальной БД (H2): агрегаты и число SQL-запросов на страницу.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserStatsQueryTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void userStats_AggregatesTransactionsInOneStatementPerPage() {
+        User active = userService.createOrUpdateUser(new User("stats0", "stats0@example.com"));
+        User idle = userService.createOrUpdateUser(new User("stats1", "stats1@example.com"));
+        transactionService.createTransactionsBulk(List.of(
+            new Transaction(1_000L, LocalDate.parse("2024-01-10"), "a", null, active),
+            new Transaction(2_500L, LocalDate.parse("2024-03-05"), "b", null, active),
+            new Transaction(500L, LocalDate.parse("2024-02-20"), "c", null, active)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        // Курсор ставится прямо перед созданными пользователями, чтобы не зависеть от данных других классов
+        CursorPage<UserStats> page = userService.getUserStats(new IdCursor(active.getId() - 1).encode(), 2);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(
+                new UserStats(active.getId(), "stats0", "stats0@example.com", 3, 4_000L, LocalDate.parse("2024-03-05")),
+                new UserStats(idle.getId(), "stats1", "stats1@example.com", 0, 0L, null)),
+            page.items());
+    }
+}
@@ -0,0 +1,54 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.repository.VisitRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Сброс счётчиков посещений на реальной БД (H2): несколько экземпляров сервиса, как несколько
+ * узлов, сбрасывают прирост одновременно, и итог в БД - сумма всех посещений.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class VisitCounterFlushTest {
+
+    private static final String URL = "/api/flush-test";
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Test
+    void concurrentFlushesFromSeveralNodes_AddUp() {
+        List<VisitCounterServiceImpl> nodes = List.of(
+            new VisitCounterServiceImpl(visitRepository, Duration.ofSeconds(5), 1024),
+            new VisitCounterServiceImpl(visitRepository, Duration.ofSeconds(5), 1024),
+            new VisitCounterServiceImpl(visitRepository, Duration.ofSeconds(5), 1024));
+        for (int round = 0; round < 3; round++) {
+            for (int node = 0; node < nodes.size(); node++) {
+                for (int i = 0; i <= node; i++) {
+                    nodes.get(node).incrementVisitCount(URL);
+                    nodes.get(node).incrementVisitCount(URL + "/" + i);
+                }
+            }
+            CompletableFuture.allOf(nodes.stream()
+                .map(node -> CompletableFuture.runAsync(node::saveCountersToDatabase))
+                .toArray(CompletableFuture[]::new)).join();
+        }
+
+        // По раунду: 1 + 2 + 3 посещения
+        assertEquals(18L, visitRepository.findByUrl(URL).getCount());
+        assertEquals(9L, visitRepository.findByUrl(URL + "/0").getCount());
+        assertEquals(3L, visitRepository.findByUrl(URL + "/2").getCount());
+        // Посещения других узлов видны после очередной загрузки сохранённых значений
+        nodes.get(0).loadSavedCounts();
+        assertEquals(18L, nodes.get(0).getVisitCount(URL));
+    }
+}
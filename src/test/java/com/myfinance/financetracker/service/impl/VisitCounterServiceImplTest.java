@@ -0,0 +1,187 @@
+package com.myfinance.financetracker.service.impl;
+
+import com.myfinance.financetracker.dto.PathHits;
+import com.myfinance.financetracker.repository.VisitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.myfinance.financetracker.exception.ValidationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VisitCounterServiceImplTest {
+
+    @Mock
+    private VisitRepository visitRepository;
+
+    private VisitCounterServiceImpl visitCounterService;
+
+    @BeforeEach
+    void setUp() {
+        visitCounterService = new VisitCounterServiceImpl(visitRepository, Duration.ofHours(1), 1024);
+    }
+
+    private static void visit(VisitCounterServiceImpl service, String url, int times) {
+        for (int i = 0; i < times; i++) {
+            service.incrementVisitCount(url);
+        }
+    }
+
+    private static List<Object[]> savedCounts(String url, long count) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {url, count});
+        return rows;
+    }
+
+    @Test
+    void incrementVisitCount_DoesNotQueryDatabase() {
+        visitCounterService.incrementVisitCount("/api/budgets");
+        visitCounterService.incrementVisitCount("/api/budgets");
+
+        assertEquals(2, visitCounterService.getVisitCount("/api/budgets"));
+        verifyNoInteractions(visitRepository);
+    }
+
+    @Test
+    void loadSavedCounts_AddsToVisitsCountedBeforeLoad() {
+        visitCounterService.incrementVisitCount("/api/users");
+        when(visitRepository.findAllUrlsAndCounts()).thenReturn(savedCounts("/api/users", 10L));
+
+        visitCounterService.loadSavedCounts();
+        visitCounterService.incrementVisitCount("/api/users");
+
+        assertEquals(12, visitCounterService.getVisitCount("/api/users"));
+    }
+
+    @Test
+    void saveCountersToDatabase_AddsOnlyDeltaSinceLastFlush() {
+        visitCounterService.incrementVisitCount("/api/users");
+        visitCounterService.incrementVisitCount("/api/users");
+        visitCounterService.saveCountersToDatabase();
+        visitCounterService.incrementVisitCount("/api/users");
+        visitCounterService.saveCountersToDatabase();
+        visitCounterService.saveCountersToDatabase();
+
+        verify(visitRepository).addCounts(eq(Map.of("/api/users", 2L)), any(LocalDateTime.class));
+        verify(visitRepository).addCounts(eq(Map.of("/api/users", 1L)), any(LocalDateTime.class));
+        verify(visitRepository, times(2)).addCounts(anyMap(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void saveCountersToDatabase_Failure_KeepsDeltaForNextFlush() {
+        visitCounterService.incrementVisitCount("/api/users");
+        doThrow(new DataAccessResourceFailureException("db down"))
+            .doNothing()
+            .when(visitRepository).addCounts(anyMap(), any(LocalDateTime.class));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> visitCounterService.saveCountersToDatabase());
+        visitCounterService.saveCountersToDatabase();
+
+        verify(visitRepository, times(2)).addCounts(eq(Map.of("/api/users", 1L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void saveCountersToDatabase_PicksUpCountsOfOtherInstances() {
+        visitCounterService.incrementVisitCount("/api/users");
+        // В БД 5 посещений других экземпляров и 1 только что сохранённое
+        when(visitRepository.findAllUrlsAndCounts()).thenReturn(savedCounts("/api/users", 6L));
+
+        visitCounterService.saveCountersToDatabase();
+        visitCounterService.incrementVisitCount("/api/users");
+
+        assertEquals(7, visitCounterService.getVisitCount("/api/users"));
+    }
+
+    @Test
+    void incrementVisitCount_ConcurrentIncrements_AreAllCounted() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    visitCounterService.incrementVisitCount("/api/transactions");
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, visitCounterService.getVisitCount("/api/transactions"));
+    }
+
+    @Test
+    void getVisits_OrdersByCountAndFiltersByPrefixAndTop() {
+        visit(visitCounterService, "/api/budgets", 5);
+        visit(visitCounterService, "/api/budgets/1", 7);
+        visit(visitCounterService, "/api/users", 9);
+        visit(visitCounterService, "/api/budgets/2", 5);
+
+        assertEquals(List.of("/api/users", "/api/budgets/1", "/api/budgets", "/api/budgets/2"),
+            List.copyOf(visitCounterService.getAllVisits().keySet()));
+        assertEquals(Map.of("/api/budgets/1", 7L, "/api/budgets/2", 5L),
+            visitCounterService.getVisits("/api/budgets/", null));
+        assertEquals(List.of("/api/budgets/1", "/api/budgets"),
+            List.copyOf(visitCounterService.getVisits("/api/budgets", 2).keySet()));
+        assertTrue(visitCounterService.getVisits("/api/categories", 3).isEmpty());
+    }
+
+    @Test
+    void getVisits_IncludesSavedCounts() {
+        when(visitRepository.findAllUrlsAndCounts()).thenReturn(savedCounts("/api/users", 10L));
+        visitCounterService.loadSavedCounts();
+        visitCounterService.incrementVisitCount("/api/users");
+
+        assertEquals(Map.of("/api/users", 11L), visitCounterService.getAllVisits());
+    }
+
+    @Test
+    void getVisits_WithinTtl_ReusesSnapshot() {
+        visitCounterService.incrementVisitCount("/api/users");
+        visitCounterService.getAllVisits();
+        visitCounterService.incrementVisitCount("/api/users");
+
+        assertEquals(1L, visitCounterService.getAllVisits().get("/api/users"));
+
+        VisitCounterServiceImpl uncached = new VisitCounterServiceImpl(visitRepository, Duration.ZERO, 1024);
+        uncached.incrementVisitCount("/api/users");
+        uncached.getAllVisits();
+        uncached.incrementVisitCount("/api/users");
+        assertEquals(2L, uncached.getAllVisits().get("/api/users"));
+    }
+
+    @Test
+    void getVisits_NonPositiveTop_IsRejected() {
+        assertThrows(ValidationException.class, () -> visitCounterService.getVisits(null, 0));
+    }
+
+    @Test
+    void getTopRawPaths_ReturnsMostFrequentPathsAndRejectsNonPositiveK() {
+        VisitCounterServiceImpl small = new VisitCounterServiceImpl(visitRepository, Duration.ofHours(1), 16);
+        for (int i = 0; i < 3; i++) {
+            small.recordRawPath("/api/users/1");
+        }
+        small.recordRawPath("/api/users/2");
+
+        List<PathHits> top = small.getTopRawPaths(1_000);
+        assertEquals(new PathHits("/api/users/1", 3, 0), top.get(0));
+        assertEquals(2, top.size());
+        assertThrows(ValidationException.class, () -> small.getTopRawPaths(0));
+        verifyNoInteractions(visitRepository);
+    }
+}
@@ -0,0 +1,83 @@
+package com.myfinance.financetracker.visits;
+
+import com.myfinance.financetracker.dto.PathHits;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+
+    @Test
+    void top_UnderCapacity_IsExact() {
+        HeavyHitters sketch = new HeavyHitters(64, 4);
+        for (int i = 0; i < 5; i++) {
+            sketch.record("/api/users/1");
+        }
+        for (int i = 0; i < 3; i++) {
+            sketch.record("/api/users/2");
+        }
+        sketch.record("/api/budgets/7");
+
+        assertEquals(List.of(
+            new PathHits("/api/users/1", 5, 0),
+            new PathHits("/api/users/2", 3, 0),
+            new PathHits("/api/budgets/7", 1, 0)), sketch.top(10));
+        assertEquals(2, sketch.top(2).size());
+    }
+
+    @Test
+    void top_SkewedStreamOverCapacity_KeepsHeavyHittersWithinErrorBounds() {
+        HeavyHitters sketch = new HeavyHitters(64, 4);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        // Три частых пути на фоне длинного хвоста уникальных id
+        for (int i = 0; i < 100_000; i++) {
+            String path = random.nextInt(4) == 0 ? "/api/users/" + random.nextInt(3)
+                : "/api/transactions/" + random.nextInt(1_000_000);
+            exact.merge(path, 1L, Long::sum);
+            sketch.record(path);
+        }
+
+        List<PathHits> top = sketch.top(3);
+        assertEquals(3, top.size());
+        for (PathHits hits : top) {
+            assertTrue(hits.path().startsWith("/api/users/"), hits.path());
+            long actual = exact.get(hits.path());
+            assertTrue(hits.count() >= actual && hits.count() - hits.error() <= actual, hits.toString());
+        }
+        assertTrue(sketch.top(1_000).size() <= 64);
+    }
+
+    @Test
+    void record_ConcurrentWriters_LoseNoCountsUnderCapacity() throws InterruptedException {
+        HeavyHitters sketch = new HeavyHitters(64, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sketch.record("/api/budgets/" + (i % 8));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<PathHits> top = new ArrayList<>(sketch.top(100));
+        assertEquals(8, top.size());
+        top.forEach(hits -> assertEquals(new PathHits(hits.path(), 5_000, 0), hits));
+    }
+
+    @Test
+    void constructor_StripeCountNotPowerOfTwo_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(64, 3));
+    }
+}